@@ -0,0 +1,123 @@
+package com.tohir.springboot.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tohir.springboot.entity.Employee;
+
+/**
+ * The repository scenarios of EmployeeRepositoryTest at table scale, once on
+ * Spring Boot defaults and once with the production-performance profile, so
+ * the two settings can be compared run for run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EmployeeRepositoryBenchmark extends EmployeeTableSupport {
+
+    private static final int BULK_SIZE = 1000;
+
+    @Param({ "1000", "10000", "100000" })
+    public int rows;
+
+    @Param({ "default", "production-performance" })
+    public String profile;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        startContext(rows, "spring.profiles.active=" + profile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stopContext();
+    }
+
+    @Benchmark
+    public Optional<Employee> findById() {
+        return employeeRepository.findById(randomId());
+    }
+
+    @Benchmark
+    public Optional<Employee> findByEmail() {
+        return employeeRepository.findByEmail("employee" + randomIndex() + "@example.com");
+    }
+
+    // a random list length, so each call may need a different IN-list plan
+    @Benchmark
+    public List<Employee> findAllById() {
+        int size = 1 + randomIndex() % 50;
+        List<Long> batch = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            batch.add(randomId());
+        }
+        return employeeRepository.findAllById(batch);
+    }
+
+    @Benchmark
+    public Employee updateEmployee() {
+        Employee employee = employeeRepository.findById(randomId()).orElseThrow();
+        employee.setFirstName("Updated" + sequence.incrementAndGet());
+        return employeeRepository.saveAndFlush(employee);
+    }
+
+    // inserts and deletes one bulk chunk, so the table stays at the configured size
+    @Benchmark
+    public int saveAllThenDelete() {
+        long n = sequence.incrementAndGet();
+        List<Employee> employees = new ArrayList<>(BULK_SIZE);
+        for (int i = 0; i < BULK_SIZE; i++) {
+            employees.add(newEmployee("Bulk" + i, "Bench" + n, "bulk" + n + "-" + i + "@example.com"));
+        }
+        List<Employee> saved = employeeRepository.saveAllAndFlush(employees);
+        employeeRepository.deleteAllInBatch(saved);
+        return saved.size();
+    }
+
+    @Benchmark
+    public List<Employee> findByJPQL() {
+        int i = randomIndex();
+        return employeeRepository.findByJPQL("First" + i, "Last" + i);
+    }
+
+    @Benchmark
+    public List<Employee> findByJPQLNamedParams() {
+        int i = randomIndex();
+        return employeeRepository.findByJPQLNamedParams("First" + i, "Last" + i);
+    }
+
+    @Benchmark
+    public List<Employee> findByNativeSQL() {
+        int i = randomIndex();
+        return employeeRepository.findByNativeSQL("First" + i, "Last" + i);
+    }
+
+    @Benchmark
+    public List<Employee> findByNativeSQLNamedParams() {
+        int i = randomIndex();
+        return employeeRepository.findByNativeSQLNamedParams("First" + i, "Last" + i);
+    }
+
+}
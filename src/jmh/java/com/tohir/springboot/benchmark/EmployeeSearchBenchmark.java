@@ -0,0 +1,73 @@
+package com.tohir.springboot.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Search latency of the in-process trigram index against the exact
+ * last-name prefix query the database answers from its name index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EmployeeSearchBenchmark extends EmployeeTableSupport {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({ "1000", "10000", "100000" })
+    public int rows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        startContext(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stopContext();
+    }
+
+    @Benchmark
+    public Object databaseLastNamePrefix() {
+        return employeeService.searchEmployeesByName("Last" + randomIndex(), null, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object indexLastNamePrefix() {
+        return employeeService.searchEmployees("Last" + randomIndex(), 0, PAGE_SIZE);
+    }
+
+    // a dropped letter: "Lat123"
+    @Benchmark
+    public Object indexTypo() {
+        return employeeService.searchEmployees("Lat" + randomIndex(), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object indexFullName() {
+        int i = randomIndex();
+        return employeeService.searchEmployees("First" + i + " Last" + i, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object indexEmailFragment() {
+        return employeeService.searchEmployees("employee" + randomIndex() + "@", 0, PAGE_SIZE);
+    }
+
+}
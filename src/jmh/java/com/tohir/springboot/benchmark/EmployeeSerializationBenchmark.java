@@ -0,0 +1,123 @@
+package com.tohir.springboot.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.tohir.springboot.entity.Employee;
+
+/**
+ * Encode and decode cost of an employee list in each negotiable format, with
+ * and without the gzip the server applies above its size threshold. The
+ * serialize benchmarks also report {@code bytes} and {@code payloads} as
+ * secondary metrics, so the payload size ({@code bytes / payloads}) ends up in
+ * the result file next to the timings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EmployeeSerializationBenchmark {
+
+    private static final TypeReference<List<Employee>> EMPLOYEE_LIST = new TypeReference<>() {
+    };
+
+    @Param({ "100", "1000", "10000" })
+    public int rows;
+
+    @Param({ "json", "cbor", "smile" })
+    public String format;
+
+    // same defaults as the ObjectMapper Spring Boot configures for the REST layer
+    private ObjectMapper objectMapper;
+
+    private List<Employee> employees;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        employees = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            employees.add(Employee.builder().id((long) i).version(0L).firstName("First" + i).lastName("Last" + i)
+                    .email("employee" + i + "@example.com").build());
+        }
+        encoded = objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeList(PayloadSize size) throws IOException {
+        return size.record(objectMapper.writeValueAsBytes(employees));
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeListGzipped(PayloadSize size) throws IOException {
+        return size.record(gzip(objectMapper.writeValueAsBytes(employees)));
+    }
+
+    @Benchmark
+    public List<Employee> deserializeEmployeeList() throws IOException {
+        return objectMapper.readValue(encoded, EMPLOYEE_LIST);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    // EVENTS counters are summed rather than normalized by time; the ratio is the size of one payload
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long bytes;
+
+        public long payloads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            payloads = 0;
+        }
+
+        byte[] record(byte[] payload) {
+            bytes += payload.length;
+            payloads++;
+            return payload;
+        }
+
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.tohir.springboot.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tohir.springboot.cache.EmployeeCache;
+import com.tohir.springboot.entity.Employee;
+import com.tohir.springboot.purge.EmployeePurgeJob;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EmployeeServiceBenchmark extends EmployeeTableSupport {
+
+    @Param({ "1000", "10000", "100000" })
+    public int rows;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private EmployeeCache employeeCache;
+
+    private EmployeePurgeJob purgeJob;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        startContext(rows, "employee.purge.retention=0s");
+        employeeCache = context.getBean(EmployeeCache.class);
+        purgeJob = context.getBean(EmployeePurgeJob.class);
+    }
+
+    // deletes only mark rows, so the rows createThenDelete left behind are removed between iterations
+    @TearDown(Level.Iteration)
+    public void purgeDeleted() {
+        purgeJob.purge(() -> true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stopContext();
+    }
+
+    // create and delete in one op: the live table stays at the configured size, while the soft-deleted
+    // rows of one iteration stay until purgeDeleted
+    @Benchmark
+    public Employee createThenDelete() {
+        long n = sequence.incrementAndGet();
+        Employee saved = employeeService.saveEmployee(newEmployee("Bench", "Mark" + n, "bench" + n + "@example.com"));
+        employeeService.deleteEmployee(saved.getId());
+        return saved;
+    }
+
+    @Benchmark
+    public Object getEmployeeById() {
+        return employeeService.getEmployeeById(randomId());
+    }
+
+    @Benchmark
+    public Object getEmployeeByIdCacheMiss() {
+        long id = randomId();
+        employeeCache.evict(id);
+        return employeeService.getEmployeeById(id);
+    }
+
+    @Benchmark
+    public Employee updateEmployee() {
+        Employee employee = employeeService.getEmployeeById(randomId()).orElseThrow();
+        employee.setFirstName("Updated" + sequence.incrementAndGet());
+        return employeeService.updateEmployee(employee);
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.tohir.springboot.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import com.tohir.springboot.SpringBootTestingApplication;
+import com.tohir.springboot.dto.EmployeeView;
+import com.tohir.springboot.entity.Employee;
+import com.tohir.springboot.repository.EmployeeRepository;
+import com.tohir.springboot.service.EmployeeService;
+
+/**
+ * Boots the application without a web server against a fresh in-memory H2
+ * database and seeds {@code tableSize} employees named {@code First<i>}
+ * {@code Last<i>}.
+ */
+abstract class EmployeeTableSupport {
+
+    private static final int SEED_CHUNK_SIZE = 10_000;
+
+    protected ConfigurableApplicationContext context;
+
+    protected EmployeeService employeeService;
+
+    protected EmployeeRepository employeeRepository;
+
+    protected long[] ids;
+
+    protected int tableSize;
+
+    protected void startContext(int tableSize, String... properties) {
+        this.tableSize = tableSize;
+        List<String> allProperties = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:benchmark-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=warn"));
+        allProperties.addAll(List.of(properties));
+
+        context = new SpringApplicationBuilder(SpringBootTestingApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(allProperties.toArray(new String[0]))
+                .run();
+        employeeService = context.getBean(EmployeeService.class);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+
+        seed();
+    }
+
+    protected void stopContext() {
+        context.close();
+    }
+
+    protected long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    protected int randomIndex() {
+        return ThreadLocalRandom.current().nextInt(tableSize);
+    }
+
+    protected static Employee newEmployee(String firstName, String lastName, String email) {
+        return Employee.builder().firstName(firstName).lastName(lastName).email(email).build();
+    }
+
+    private void seed() {
+        for (int start = 0; start < tableSize; start += SEED_CHUNK_SIZE) {
+            int end = Math.min(start + SEED_CHUNK_SIZE, tableSize);
+            List<Employee> chunk = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                chunk.add(newEmployee("First" + i, "Last" + i, "employee" + i + "@example.com"));
+            }
+            employeeService.saveEmployees(chunk);
+        }
+
+        ids = new long[tableSize];
+        int count = 0;
+        long afterId = 0;
+        List<EmployeeView> page;
+        do {
+            page = employeeRepository.findNextPage(afterId, PageRequest.of(0, SEED_CHUNK_SIZE));
+            for (EmployeeView employee : page) {
+                ids[count++] = employee.getId();
+                afterId = employee.getId();
+            }
+        } while (!page.isEmpty());
+    }
+
+}
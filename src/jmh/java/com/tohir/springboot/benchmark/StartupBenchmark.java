@@ -0,0 +1,156 @@
+package com.tohir.springboot.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tohir.springboot.SpringBootTestingApplication;
+
+/**
+ * Cold start of the whole application, measured as a child process that runs
+ * from launch until it is ready and exits (employee.startup.exit-on-ready).
+ * <ul>
+ * <li>{@code jvm}: default JVM start</li>
+ * <li>{@code lazy}: the fast-startup profile (lazy beans and repositories)</li>
+ * <li>{@code cds}: fast-startup plus a class data sharing archive, dumped by a
+ * training run at the start of each trial</li>
+ * <li>{@code native}: the binary from {@code mvn -Pnative native:compile};
+ * not in the default set, run with {@code -p mode=native}</li>
+ * </ul>
+ * The JVM modes run from jars only: {@code target/classes} is packed into
+ * {@code target/startup-benchmark/app.jar} and directories are dropped from the
+ * class path, because the JVM refuses to dump an archive for a class path with a
+ * non-empty directory on it.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+public class StartupBenchmark {
+
+    private static final Path WORK_DIRECTORY = Path.of("target", "startup-benchmark");
+
+    private static final Path APP_JAR = WORK_DIRECTORY.resolve("app.jar");
+
+    private static final Path CDS_ARCHIVE = WORK_DIRECTORY.resolve("app.jsa");
+
+    private static final Path NATIVE_IMAGE = Path.of("target", "spring-boot-testing");
+
+    @Param({ "jvm", "lazy", "cds" })
+    public String mode;
+
+    private List<String> command;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String classpath = jarClasspath();
+        List<String> appArguments = List.of("--employee.startup.exit-on-ready=true", "--server.port=0",
+                "--logging.level.root=warn");
+
+        command = new ArrayList<>();
+        switch (mode) {
+        case "jvm" -> command.addAll(List.of(java, "-cp", classpath, SpringBootTestingApplication.class.getName()));
+        case "lazy", "cds" -> {
+            command.add(java);
+            if (mode.equals("cds")) {
+                // the archive is only accepted for the class path it was dumped with, so train with this one
+                Files.deleteIfExists(CDS_ARCHIVE);
+                run(jvmCommand(java, classpath, "-XX:ArchiveClassesAtExit=" + CDS_ARCHIVE, appArguments));
+                if (!Files.exists(CDS_ARCHIVE)) {
+                    throw new IllegalStateException("Training run did not dump " + CDS_ARCHIVE + ", see "
+                            + logFile());
+                }
+                // fail instead of silently starting without sharing if the archive is rejected
+                command.addAll(List.of("-XX:SharedArchiveFile=" + CDS_ARCHIVE, "-Xshare:on"));
+            }
+            command.addAll(List.of("-cp", classpath, SpringBootTestingApplication.class.getName(),
+                    "--spring.profiles.active=fast-startup"));
+        }
+        case "native" -> {
+            if (!Files.isExecutable(NATIVE_IMAGE)) {
+                throw new IllegalStateException("Build " + NATIVE_IMAGE + " first: mvn -Pnative native:compile");
+            }
+            command.add(NATIVE_IMAGE.toString());
+        }
+        default -> throw new IllegalArgumentException("Unknown startup mode " + mode);
+        }
+        command.addAll(appArguments);
+    }
+
+    @Benchmark
+    public int startToReady() throws IOException, InterruptedException {
+        return run(command);
+    }
+
+    private static String jarClasspath() throws IOException {
+        Files.createDirectories(WORK_DIRECTORY);
+        Path classes = Path.of("target", "classes");
+        try (JarOutputStream jar = new JarOutputStream(Files.newOutputStream(APP_JAR));
+                Stream<Path> files = Files.walk(classes)) {
+            // directory entries too, component scanning resolves the package roots through them
+            for (Path file : (Iterable<Path>) files.filter(file -> !file.equals(classes))::iterator) {
+                String name = classes.relativize(file).toString().replace(File.separatorChar, '/');
+                boolean directory = Files.isDirectory(file);
+                jar.putNextEntry(new JarEntry(directory ? name + "/" : name));
+                if (!directory) {
+                    Files.copy(file, (OutputStream) jar);
+                }
+                jar.closeEntry();
+            }
+        }
+        List<String> entries = new ArrayList<>(List.of(APP_JAR.toString()));
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (entry.endsWith(".jar")) {
+                entries.add(entry);
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static File logFile() {
+        return new File(System.getProperty("java.io.tmpdir"), "startup-benchmark.log");
+    }
+
+    private static List<String> jvmCommand(String java, String classpath, String option, List<String> appArguments) {
+        List<String> training = new ArrayList<>(List.of(java, option, "-cp", classpath,
+                SpringBootTestingApplication.class.getName(), "--spring.profiles.active=fast-startup"));
+        training.addAll(appArguments);
+        return training;
+    }
+
+    private static int run(List<String> command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.to(logFile()))
+                .start();
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("Application exited with " + exitCode + ": " + command);
+        }
+        return exitCode;
+    }
+
+}
@@ -2,8 +2,12 @@ package com.tohir.springboot;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.tohir.springboot.config.EmployeeRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(EmployeeRuntimeHints.class)
 public class SpringBootTestingApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,259 @@
+package com.tohir.springboot.cache;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.tohir.springboot.entity.Employee;
+
+/**
+ * Bounded in-process read-through cache for employees, keyed by id with a
+ * secondary email index. Entries are evicted least-recently-used once
+ * {@code maxSize} is reached and expire {@code ttl} after they were loaded.
+ * Employees are copied on the way in and out so callers never share a
+ * mutable instance with the cache.
+ * <p>
+ * A loader takes a {@link #stamp()} before it reads from the database and
+ * passes it to {@link #put(Employee, long)}. Every eviction records a newer
+ * stamp for the id's stripe, so a row read before a write committed and
+ * evicted is not cached after it. A put never replaces an entry that has a
+ * higher {@code @Version}.
+ */
+@Component
+public class EmployeeCache {
+
+    private static final int EVICTION_STRIPES = 1024;
+
+    private final int maxSize;
+
+    private final long ttlNanos;
+
+    private final LongSupplier ticker;
+
+    // access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<String, Long> emailIndex = new HashMap<>();
+
+    // a lock rather than synchronized so virtual threads are not pinned while waiting
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final AtomicLong stamps = new AtomicLong();
+
+    // stamp of the latest eviction per stripe of ids; ids sharing a stripe only cost each other a skipped put
+    private final long[] evictedAt = new long[EVICTION_STRIPES];
+
+    @Autowired
+    public EmployeeCache(@Value("${employee.cache.max-size:10000}") int maxSize,
+            @Value("${employee.cache.ttl:5m}") Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    EmployeeCache(int maxSize, Duration ttl, LongSupplier ticker) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+    }
+
+    public Employee getById(Long id) {
+        lock.lock();
+        try {
+            return lookup(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Employee getByEmail(String email) {
+        lock.lock();
+        try {
+            Long id = emailIndex.get(email);
+            if (id == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            return lookup(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the stamp to hand to {@link #put(Employee, long)} for a row read
+     *         from the database after this call
+     */
+    public long stamp() {
+        return stamps.get();
+    }
+
+    public void put(Employee employee) {
+        put(employee, stamp());
+    }
+
+    /**
+     * Caches the employee unless it was evicted after {@code stamp} was taken
+     * or a newer version is already cached.
+     */
+    public void put(Employee employee, long stamp) {
+        if (maxSize <= 0 || employee.getId() == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (evictedAt[stripe(employee.getId())] > stamp || isOlderThanCached(employee)) {
+                return;
+            }
+            removeEntry(employee.getId());
+            entries.put(employee.getId(), new Entry(copyOf(employee), ticker.getAsLong() + ttlNanos));
+            emailIndex.put(employee.getEmail(), employee.getId());
+            evictOverflow();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void evict(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            evictedAt[stripe(id)] = stamps.incrementAndGet();
+            removeEntry(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void evictByEmail(String email) {
+        lock.lock();
+        try {
+            Long id = emailIndex.get(email);
+            if (id != null) {
+                evictedAt[stripe(id)] = stamps.incrementAndGet();
+                removeEntry(id);
+            } else {
+                // the id is unknown, so no load in flight may cache what it read
+                Arrays.fill(evictedAt, stamps.incrementAndGet());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            Arrays.fill(evictedAt, stamps.incrementAndGet());
+            entries.clear();
+            emailIndex.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private Employee lookup(Long id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (entry.expiresAt - ticker.getAsLong() <= 0) {
+            removeEntry(id);
+            evictions.incrementAndGet();
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return copyOf(entry.employee);
+    }
+
+    private boolean isOlderThanCached(Employee employee) {
+        Entry cached = entries.get(employee.getId());
+        return cached != null && cached.employee.getVersion() != null && employee.getVersion() != null
+                && cached.employee.getVersion() > employee.getVersion();
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (EVICTION_STRIPES - 1);
+    }
+
+    private void removeEntry(Long id) {
+        Entry removed = entries.remove(id);
+        if (removed != null) {
+            emailIndex.remove(removed.employee.getEmail(), id);
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<Long, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            Map.Entry<Long, Entry> eldest = iterator.next();
+            iterator.remove();
+            emailIndex.remove(eldest.getValue().employee.getEmail(), eldest.getKey());
+            evictions.incrementAndGet();
+        }
+    }
+
+    static Employee copyOf(Employee employee) {
+        return Employee.builder().id(employee.getId()).firstName(employee.getFirstName())
+                .lastName(employee.getLastName()).email(employee.getEmail()).version(employee.getVersion())
+                .updatedAt(employee.getUpdatedAt())
+                .build();
+    }
+
+    private static final class Entry {
+
+        private final Employee employee;
+
+        private final long expiresAt;
+
+        private Entry(Employee employee, long expiresAt) {
+            this.employee = employee;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.tohir.springboot.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the employee cache counters at {@code /actuator/employeecache} so
+ * the cache can be sized from production hit ratios.
+ */
+@Component
+@Endpoint(id = "employeecache")
+public class EmployeeCacheEndpoint {
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        long hits = employeeCache.getHitCount();
+        long misses = employeeCache.getMissCount();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", employeeCache.size());
+        stats.put("maxSize", employeeCache.getMaxSize());
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("evictions", employeeCache.getEvictionCount());
+        stats.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        return stats;
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.tohir.springboot.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the {@link EmployeeCache} counters as {@code employee.cache.*}
+ * meters, using the same names Micrometer's own cache binders use.
+ */
+@Component
+public class EmployeeCacheMetrics implements MeterBinder {
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employee.cache.gets", employeeCache, EmployeeCache::getHitCount)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("employee.cache.gets", employeeCache, EmployeeCache::getMissCount)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("employee.cache.evictions", employeeCache, EmployeeCache::getEvictionCount)
+                .register(registry);
+        Gauge.builder("employee.cache.size", employeeCache, EmployeeCache::size).register(registry);
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.tohir.springboot.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.tohir.springboot.entity.Employee;
+import com.tohir.springboot.repository.EmployeeRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Resolves the point lookups that miss the cache in batches: lookups arriving
+ * within {@code employee.lookup.batch.window} of each other, up to
+ * {@code max-size} ids, share one {@code findAllById} IN-list query. The
+ * average batch size is {@code employee.lookup.batched.keys} divided by
+ * {@code employee.lookup.batches}.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.lookup.batch.enabled", havingValue = "true")
+public class EmployeeLookupBatcher implements MeterBinder {
+
+    private final MicroBatcher<Long, Employee> batcher;
+
+    @Autowired
+    public EmployeeLookupBatcher(EmployeeRepository employeeRepository,
+            @Value("${employee.lookup.batch.window:1ms}") Duration window,
+            @Value("${employee.lookup.batch.max-size:100}") int maxSize) {
+        this.batcher = new MicroBatcher<>("employee-lookup-batcher", window, maxSize,
+                ids -> employeeRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(Employee::getId, Function.identity())));
+    }
+
+    public Optional<Employee> findById(Long id) {
+        try {
+            return Optional.ofNullable(batcher.load(id).join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employee.lookup.batches", batcher, MicroBatcher::getBatchCount)
+                .register(registry);
+        FunctionCounter.builder("employee.lookup.batched.keys", batcher, MicroBatcher::getKeyCount)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void close() {
+        batcher.close();
+    }
+
+}
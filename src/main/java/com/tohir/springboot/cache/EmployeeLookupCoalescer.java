@@ -0,0 +1,72 @@
+package com.tohir.springboot.cache;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.tohir.springboot.entity.Employee;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * One {@link SingleFlight} per employee lookup that reaches the database, so
+ * a burst of requests for the same popular employee costs one query.
+ * Waiting callers get their own copy of the loaded employees. A write calls
+ * {@link #invalidate(Long)}, so no caller arriving after it joins a load that
+ * started before it. Published as
+ * {@code employee.lookup.calls} (executed or shared) and
+ * {@code employee.lookup.in.flight}, tagged by lookup.
+ */
+@Component
+public class EmployeeLookupCoalescer implements MeterBinder {
+
+    private final SingleFlight<Long, Optional<Employee>> byId = new SingleFlight<>();
+
+    private final SingleFlight<String, Optional<Employee>> byEmail = new SingleFlight<>();
+
+    private final SingleFlight<List<String>, List<Employee>> byName = new SingleFlight<>();
+
+    public Optional<Employee> byId(Long id, Supplier<Optional<Employee>> loader) {
+        return byId.execute(id, loader, employee -> employee.map(EmployeeCache::copyOf));
+    }
+
+    public Optional<Employee> byEmail(String email, Supplier<Optional<Employee>> loader) {
+        return byEmail.execute(email, loader, employee -> employee.map(EmployeeCache::copyOf));
+    }
+
+    public List<Employee> byName(String firstName, String lastName, Supplier<List<Employee>> loader) {
+        return byName.execute(List.of(firstName, lastName), loader,
+                employees -> employees.stream().map(EmployeeCache::copyOf).toList());
+    }
+
+    // email and name keys cannot be derived from the id, so those in-flight loads are all detached
+    public void invalidate(Long id) {
+        if (id != null) {
+            byId.forget(id);
+        }
+        byEmail.forgetAll();
+        byName.forgetAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, "id", byId);
+        bind(registry, "email", byEmail);
+        bind(registry, "name", byName);
+    }
+
+    private static void bind(MeterRegistry registry, String lookup, SingleFlight<?, ?> flight) {
+        FunctionCounter.builder("employee.lookup.calls", flight, SingleFlight::getExecutedCount)
+                .tag("lookup", lookup).tag("result", "executed").register(registry);
+        FunctionCounter.builder("employee.lookup.calls", flight, SingleFlight::getSharedCount)
+                .tag("lookup", lookup).tag("result", "shared").register(registry);
+        Gauge.builder("employee.lookup.in.flight", flight, SingleFlight::getInFlightCount)
+                .tag("lookup", lookup).register(registry);
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.tohir.springboot.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Collects single-key loads for up to {@code window} after the first key of
+ * a batch, or until {@code maxBatchSize} distinct keys are waiting, then
+ * resolves them with one call to the batch loader. Keys the loader does not
+ * return complete with {@code null}; a failed load fails every key of its
+ * batch.
+ */
+public class MicroBatcher<K, V> implements AutoCloseable {
+
+    private final Function<Set<K>, Map<K, V>> loader;
+
+    private final int maxBatchSize;
+
+    private final long windowNanos;
+
+    private final ScheduledExecutorService timer;
+
+    // loads run off the timer thread so one slow batch does not delay the next window
+    private final ExecutorService loadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // a lock rather than synchronized so virtual threads are not pinned while waiting
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+
+    // tells a window timer whether the batch it was scheduled for already left because it filled up
+    private long generation;
+
+    private final LongAdder batches = new LongAdder();
+
+    private final LongAdder keys = new LongAdder();
+
+    public MicroBatcher(String name, Duration window, int maxBatchSize, Function<Set<K>, Map<K, V>> loader) {
+        this.loader = loader;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.windowNanos = window.toNanos();
+        this.timer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name(name).daemon().factory());
+    }
+
+    public CompletableFuture<V> load(K key) {
+        Map<K, CompletableFuture<V>> full = null;
+        CompletableFuture<V> result;
+        lock.lock();
+        try {
+            result = pending.get(key);
+            if (result != null) {
+                return result;
+            }
+            result = new CompletableFuture<>();
+            pending.put(key, result);
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (pending.size() == 1) {
+                long scheduledGeneration = generation;
+                timer.schedule(() -> flush(scheduledGeneration), windowNanos, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return result;
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    public long getKeyCount() {
+        return keys.sum();
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        Map<K, CompletableFuture<V>> remaining;
+        lock.lock();
+        try {
+            remaining = takePending();
+        } finally {
+            lock.unlock();
+        }
+        if (!remaining.isEmpty()) {
+            dispatch(remaining);
+        }
+        loadExecutor.close();
+    }
+
+    private void flush(long scheduledGeneration) {
+        Map<K, CompletableFuture<V>> batch;
+        lock.lock();
+        try {
+            if (scheduledGeneration != generation || pending.isEmpty()) {
+                return;
+            }
+            batch = takePending();
+        } finally {
+            lock.unlock();
+        }
+        dispatch(batch);
+    }
+
+    private Map<K, CompletableFuture<V>> takePending() {
+        Map<K, CompletableFuture<V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        generation++;
+        return batch;
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        batches.increment();
+        keys.add(batch.size());
+        loadExecutor.execute(() -> {
+            try {
+                Map<K, V> values = loader.apply(batch.keySet());
+                batch.forEach((key, result) -> result.complete(values.get(key)));
+            } catch (RuntimeException | Error e) {
+                batch.values().forEach(result -> result.completeExceptionally(e));
+            }
+        });
+    }
+
+}
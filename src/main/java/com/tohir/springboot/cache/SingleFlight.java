@@ -0,0 +1,91 @@
+package com.tohir.springboot.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller runs the
+ * loader, callers arriving while it is in flight wait for and share its
+ * result or exception. Nothing is kept once the call completes, so this is
+ * not a cache; a caller arriving afterwards starts a new load.
+ * <p>
+ * {@link #forget(Object)} detaches an in-flight load after a write: callers
+ * already waiting still get its result, but later callers start a new load
+ * instead of joining one that may have read the data before the write.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+
+    private final LongAdder executed = new LongAdder();
+
+    private final LongAdder shared = new LongAdder();
+
+    public V execute(K key, Supplier<V> loader) {
+        return execute(key, loader, UnaryOperator.identity());
+    }
+
+    /**
+     * @param shareCopy applied to the result handed to each waiting caller, so
+     *                  callers never share a mutable value
+     */
+    public V execute(K key, Supplier<V> loader, UnaryOperator<V> shareCopy) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = flights.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            shared.increment();
+            return shareCopy.apply(await(inFlight));
+        }
+
+        executed.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    public void forget(K key) {
+        flights.remove(key);
+    }
+
+    public void forgetAll() {
+        flights.clear();
+    }
+
+    public long getExecutedCount() {
+        return executed.sum();
+    }
+
+    public long getSharedCount() {
+        return shared.sum();
+    }
+
+    public int getInFlightCount() {
+        return flights.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.tohir.springboot.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Binary Jackson encodings for service-to-service callers, chosen by the
+ * Accept and Content-Type headers: {@code application/cbor} and
+ * {@code application/x-jackson-smile}. Both mappers come from Boot's
+ * {@link Jackson2ObjectMapperBuilder}, so they write the same fields as the
+ * JSON converter. JSON stays the default for clients that ask for nothing in
+ * particular.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    // the builder bean is prototype scoped, so each converter configures its own copy
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.tohir.springboot.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import com.tohir.springboot.dto.BulkItemFailure;
+import com.tohir.springboot.dto.BulkOperationResult;
+import com.tohir.springboot.dto.EmployeeChangeBatch;
+import com.tohir.springboot.dto.EmployeePage;
+import com.tohir.springboot.dto.EmployeePatch;
+import com.tohir.springboot.dto.EmployeeTableVersion;
+import com.tohir.springboot.dto.EmployeeVersion;
+import com.tohir.springboot.dto.EmployeeView;
+import com.tohir.springboot.dto.IngestionStatus;
+import com.tohir.springboot.entity.Employee;
+import com.tohir.springboot.entity.EmployeeChange;
+import com.tohir.springboot.repository.EmployeeChangeRepository;
+import com.tohir.springboot.repository.EmployeeRepository;
+
+/**
+ * Reflection hints for a native image. Spring AOT already covers beans, the
+ * repository proxy and controller signatures; this adds what is only reached
+ * reflectively at run time: Lombok accessors used by Jackson and Hibernate,
+ * the DTOs built by JPQL constructor expressions, and the bodies behind
+ * {@code ResponseEntity<?>}.
+ */
+public class EmployeeRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), Employee.class,
+                EmployeeView.class, EmployeePage.class, EmployeePatch.class, BulkOperationResult.class,
+                BulkItemFailure.class, IngestionStatus.class, EmployeeChangeBatch.class, EmployeeChange.class);
+
+        for (Class<?> entity : new Class<?>[] { Employee.class, EmployeeChange.class }) {
+            hints.reflection().registerType(entity, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        for (Class<?> projection : new Class<?>[] { EmployeeView.class, EmployeeVersion.class,
+                EmployeeTableVersion.class }) {
+            hints.reflection().registerType(projection, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        // derived query names are parsed from the interface methods
+        hints.reflection().registerType(TypeReference.of(EmployeeRepository.class),
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(TypeReference.of(EmployeeChangeRepository.class),
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.tohir.springboot.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Shuts the application down as soon as it is ready when
+ * {@code employee.startup.exit-on-ready=true}. Used for the CDS training run,
+ * which dumps the loaded classes when the JVM exits, and by the startup
+ * benchmark, which times process start to exit.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.startup.exit-on-ready", havingValue = "true")
+public class ExitOnReadyConfig {
+
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> exitOnReady() {
+        return event -> System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+
+}
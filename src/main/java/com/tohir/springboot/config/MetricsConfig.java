@@ -0,0 +1,58 @@
+package com.tohir.springboot.config;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Micrometer wiring beyond what Spring Boot auto-configures. HTTP endpoints
+ * ({@code http.server.requests}), repository methods
+ * ({@code spring.data.repository.invocations}) and the Hikari pool
+ * ({@code hikaricp.*}) are timed by Boot itself.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // enables @Timed on the service layer
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    // needs hibernate.generate_statistics=true, otherwise every value stays at zero
+    @Bean
+    public MeterBinder hibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            FunctionCounter.builder("hibernate.statements", statistics, Statistics::getPrepareStatementCount)
+                    .tag("status", "prepared").register(registry);
+            FunctionCounter.builder("hibernate.query.executions", statistics, Statistics::getQueryExecutionCount)
+                    .register(registry);
+            Gauge.builder("hibernate.query.executions.max", statistics, Statistics::getQueryExecutionMaxTime)
+                    .baseUnit("milliseconds").register(registry);
+            FunctionCounter.builder("hibernate.entities.loads", statistics, Statistics::getEntityLoadCount)
+                    .register(registry);
+            FunctionCounter.builder("hibernate.entities.inserts", statistics, Statistics::getEntityInsertCount)
+                    .register(registry);
+            FunctionCounter.builder("hibernate.entities.updates", statistics, Statistics::getEntityUpdateCount)
+                    .register(registry);
+            FunctionCounter.builder("hibernate.entities.deletes", statistics, Statistics::getEntityDeleteCount)
+                    .register(registry);
+            FunctionCounter.builder("hibernate.flushes", statistics, Statistics::getFlushCount)
+                    .register(registry);
+            FunctionCounter.builder("hibernate.transactions", statistics, Statistics::getSuccessfulTransactionCount)
+                    .tag("result", "success").register(registry);
+            FunctionCounter.builder("hibernate.connections.obtained", statistics, Statistics::getConnectCount)
+                    .register(registry);
+        };
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.tohir.springboot.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.tohir.springboot.ratelimit.RateLimitInterceptor;
+import com.tohir.springboot.ratelimit.RateLimitProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registers the {@link RateLimitInterceptor} on the servlet stack when
+ * {@code employee.rate-limit.enabled=true}.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "employee.rate-limit.enabled", havingValue = "true")
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private RateLimitProperties rateLimitProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RateLimitInterceptor(rateLimitProperties, meterRegistry))
+                .addPathPatterns("/api/**");
+    }
+
+}
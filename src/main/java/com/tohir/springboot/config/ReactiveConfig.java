@@ -0,0 +1,59 @@
+package com.tohir.springboot.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import io.r2dbc.spi.ConnectionFactories;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+
+/**
+ * R2DBC wiring for the reactive profile. The connection factory is declared
+ * here rather than by Spring Boot's R2DBC auto-configuration so that the
+ * servlet build never gets a second (reactive) transaction manager next to
+ * the JPA one.
+ * <p>
+ * The JDBC pool is declared here too. Boot's DataSourceAutoConfiguration backs
+ * off as soon as a {@link ConnectionFactory} bean exists, but JPA still has to
+ * create the schema and serve the repository-backed beans: the purge job, the
+ * search index and the Hibernate metrics.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveConfig {
+
+    // DataSourceRoutingConfig provides the data source when replica routing is on
+    @Bean
+    @ConditionalOnProperty(name = "employee.datasource.routing.enabled", havingValue = "false", matchIfMissing = true)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    // same credentials as the JDBC pool, which creates the shared in-memory database
+    @Bean
+    public ConnectionFactory connectionFactory(@Value("${employee.r2dbc.url}") String url,
+            @Value("${spring.datasource.username:sa}") String username,
+            @Value("${spring.datasource.password:}") String password) {
+        return ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.tohir.springboot.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// runs the @Scheduled change feed dispatch, outbox cleanup and soft-delete purge
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+}
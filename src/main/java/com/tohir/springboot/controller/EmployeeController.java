@@ -1,48 +1,257 @@
 package com.tohir.springboot.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tohir.springboot.dto.BulkOperationResult;
+import com.tohir.springboot.dto.EmployeeChangeBatch;
+import com.tohir.springboot.dto.EmployeePage;
+import com.tohir.springboot.dto.EmployeePatch;
+import com.tohir.springboot.dto.EmployeeVersion;
+import com.tohir.springboot.dto.EmployeeView;
+import com.tohir.springboot.dto.IngestionStatus;
 import com.tohir.springboot.entity.Employee;
+import com.tohir.springboot.ingestion.EmployeeIngestionQueue;
+import com.tohir.springboot.outbox.EmployeeChangeFeed;
+import com.tohir.springboot.ratelimit.RateLimitGroup;
 import com.tohir.springboot.service.EmployeeService;
+import com.tohir.springboot.service.EmployeeTransferService;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/employees")
 public class EmployeeController {
 
+    private static final int STREAM_CHUNK_SIZE = 500;
+
+    private static final int INGESTION_RETRY_AFTER_SECONDS = 1;
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     @Autowired
     private EmployeeService employeeService;
 
+    @Autowired
+    private EmployeeTransferService employeeTransferService;
+
+    @Autowired
+    private EmployeeChangeFeed changeFeed;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // present only when employee.ingestion.enabled=true
+    @Autowired(required = false)
+    private EmployeeIngestionQueue ingestionQueue;
+
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public Employee creatEmployee(@RequestBody Employee employee) {
-        return employeeService.saveEmployee(employee);
+    @RateLimitGroup(RateLimitGroup.WRITE)
+    public ResponseEntity<?> creatEmployee(@RequestBody Employee employee) {
+        if (ingestionQueue == null) {
+            return new ResponseEntity<>(employeeService.saveEmployee(employee), HttpStatus.CREATED);
+        }
+
+        // write-behind: queue the create and let the client poll the tracking id
+        String trackingId = ingestionQueue.submit(employee);
+        if (trackingId == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(INGESTION_RETRY_AFTER_SECONDS)).build();
+        }
+        return ResponseEntity.accepted().location(URI.create("/api/employees/ingestions/" + trackingId))
+                .body(ingestionQueue.getStatus(trackingId));
     }
 
+    @GetMapping("ingestions/{trackingId}")
+    @RateLimitGroup(RateLimitGroup.LOOKUP)
+    public ResponseEntity<IngestionStatus> getIngestionStatus(@PathVariable("trackingId") String trackingId) {
+        IngestionStatus status = ingestionQueue == null ? null : ingestionQueue.getStatus(trackingId);
+        return status == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(status);
+    }
+
+    @PostMapping("bulk")
+    @RateLimitGroup(RateLimitGroup.BULK)
+    public BulkOperationResult createEmployees(@RequestBody List<Employee> employees) {
+        return employeeService.saveEmployees(employees);
+    }
+
+    @PutMapping("bulk")
+    @RateLimitGroup(RateLimitGroup.BULK)
+    public BulkOperationResult updateEmployees(@RequestBody List<Employee> employees) {
+        return employeeService.updateEmployees(employees);
+    }
+
+    @DeleteMapping("bulk")
+    @RateLimitGroup(RateLimitGroup.BULK)
+    public BulkOperationResult deleteEmployees(@RequestBody List<Long> employeeIds) {
+        return employeeService.deleteEmployees(employeeIds);
+    }
+
+    // returns at most one full page (1000 employees) in id order, no longer the whole table; when more
+    // remain, a Link rel="next" header points at GET page with the cursor to continue from
     @GetMapping
-    public List<Employee> getAllEmployees() {
-        return employeeService.getAllEmployees();
+    @RateLimitGroup(RateLimitGroup.HEAVY)
+    public ResponseEntity<List<EmployeeView>> getAllEmployees(WebRequest webRequest) {
+        // collection ETag from one aggregate query; a match skips reading and serializing the table
+        String eTag = employeeService.getEmployeesVersion().getETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        EmployeePage page = employeeService.getAllEmployees();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag);
+        if (page.getNextCursor() != null) {
+            response.header(HttpHeaders.LINK, "</api/employees/page?cursor=" + page.getNextCursor() + "&size="
+                    + page.getContent().size() + ">; rel=\"next\"");
+        }
+        return response.body(page.getContent());
+    }
+
+    // change feed: pass the returned nextOffset as after; wait > 0 long-polls for up to that many seconds
+    @GetMapping("changes")
+    @RateLimitGroup(RateLimitGroup.QUERY)
+    public DeferredResult<EmployeeChangeBatch> getChanges(@RequestParam(name = "after", defaultValue = "0") long after,
+            @RequestParam(name = "limit", defaultValue = "500") int limit,
+            @RequestParam(name = "wait", defaultValue = "0") long waitSeconds) {
+        return changeFeed.poll(after, limit, Duration.ofSeconds(waitSeconds));
+    }
+
+    // multi-get for callers that would otherwise fan out one GET {id} per employee
+    @GetMapping(params = "ids")
+    @RateLimitGroup(RateLimitGroup.LOOKUP)
+    public List<Employee> getEmployeesByIds(@RequestParam("ids") List<Long> ids) {
+        return employeeService.getEmployeesByIds(ids);
+    }
+
+    @GetMapping(params = { "firstName", "lastName" })
+    @RateLimitGroup(RateLimitGroup.LOOKUP)
+    public List<Employee> getEmployeesByName(@RequestParam("firstName") String firstName,
+            @RequestParam("lastName") String lastName) {
+        return employeeService.getEmployeesByName(firstName, lastName);
+    }
+
+    @GetMapping(params = "email")
+    @RateLimitGroup(RateLimitGroup.LOOKUP)
+    public ResponseEntity<Employee> getEmployeeByEmail(@RequestParam("email") String email) {
+        return employeeService.getEmployeeByEmail(email).map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("page")
+    @RateLimitGroup(RateLimitGroup.QUERY)
+    public EmployeePage getEmployeesPage(@RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "50") int size) {
+        return employeeService.getEmployeesPage(cursor, size);
+    }
+
+    // streams the whole table as one JSON array, holding at most one keyset page in memory
+    @GetMapping("stream")
+    @RateLimitGroup(RateLimitGroup.HEAVY)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        StreamingResponseBody body = this::writeEmployees;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // snapshot of the whole table over a forward-only JDBC cursor, one line per employee
+    @GetMapping(value = "export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @RateLimitGroup(RateLimitGroup.HEAVY)
+    public ResponseEntity<StreamingResponseBody> exportEmployeesAsNdjson() {
+        StreamingResponseBody body = employeeTransferService::exportNdjson;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping(value = "export", produces = TEXT_CSV_VALUE)
+    @RateLimitGroup(RateLimitGroup.HEAVY)
+    public ResponseEntity<StreamingResponseBody> exportEmployeesAsCsv() {
+        StreamingResponseBody body = employeeTransferService::exportCsv;
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(TEXT_CSV_VALUE))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees.csv\"").body(body);
+    }
+
+    // parsed while it is read and saved chunk by chunk; chunks before a malformed line stay saved
+    @PostMapping(value = "import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @RateLimitGroup(RateLimitGroup.BULK)
+    public BulkOperationResult importEmployeesFromNdjson(InputStream body) throws IOException {
+        return employeeTransferService.importNdjson(body);
+    }
+
+    @PostMapping(value = "import", consumes = TEXT_CSV_VALUE)
+    @RateLimitGroup(RateLimitGroup.BULK)
+    public BulkOperationResult importEmployeesFromCsv(InputStream body) throws IOException {
+        return employeeTransferService.importCsv(body);
+    }
+
+    // ranked typo-tolerant search over names and email; the lastName form below stays an exact prefix query
+    @GetMapping(value = "search", params = "q")
+    @RateLimitGroup(RateLimitGroup.QUERY)
+    public Page<EmployeeView> searchEmployees(@RequestParam("q") String query,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "50") int size) {
+        return employeeService.searchEmployees(query, page, size);
+    }
+
+    @GetMapping("search")
+    @RateLimitGroup(RateLimitGroup.QUERY)
+    public Page<EmployeeView> searchEmployeesByName(@RequestParam("lastName") String lastName,
+            @RequestParam(name = "firstName", required = false) String firstName,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "50") int size) {
+        return employeeService.searchEmployeesByName(lastName, firstName, page, size);
     }
 
     @GetMapping("{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") long employeeId) {
-        return employeeService.getEmployeeById(employeeId).map(ResponseEntity::ok)
+    @RateLimitGroup(RateLimitGroup.LOOKUP)
+    public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") long employeeId, WebRequest webRequest) {
+        // answer If-None-Match / If-Modified-Since from the version stamp, without loading the employee
+        if (isConditional(webRequest)) {
+            Optional<EmployeeVersion> version = employeeService.getEmployeeVersion(employeeId);
+            if (version.isPresent()
+                    && webRequest.checkNotModified(version.get().getETag(), version.get().getLastModifiedMillis())) {
+                return null;
+            }
+        }
+
+        return employeeService.getEmployeeById(employeeId).map(employee -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (employee.getVersion() != null) {
+                response.eTag(new EmployeeVersion(employee.getVersion(), employee.getUpdatedAt()).getETag());
+            }
+            if (employee.getUpdatedAt() != null) {
+                response.lastModified(employee.getUpdatedAt());
+            }
+            return response.body(employee);
+        })
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PutMapping("{id}")
+    @RateLimitGroup(RateLimitGroup.WRITE)
     public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long employeeId,
             @RequestBody Employee employee) {
 
@@ -57,7 +266,19 @@ public class EmployeeController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    // one targeted UPDATE of the supplied fields, without loading the employee first
+    @PatchMapping("{id}")
+    @RateLimitGroup(RateLimitGroup.WRITE)
+    public ResponseEntity<Void> patchEmployee(@PathVariable("id") long employeeId,
+            @RequestBody EmployeePatch patch) {
+
+        employeeService.patchEmployee(employeeId, patch);
+
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("{id}")
+    @RateLimitGroup(RateLimitGroup.WRITE)
     public ResponseEntity<String> deleteEmployee(@PathVariable("id") long employeeId) {
 
         employeeService.deleteEmployee(employeeId);
@@ -65,4 +286,25 @@ public class EmployeeController {
         return new ResponseEntity<String>("Employee deleted successfully!.", HttpStatus.OK);
     }
 
+    private static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private void writeEmployees(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.writeStartArray();
+            String cursor = null;
+            do {
+                EmployeePage page = employeeService.getEmployeesPage(cursor, STREAM_CHUNK_SIZE);
+                for (EmployeeView employee : page.getContent()) {
+                    generator.writeObject(employee);
+                }
+                generator.flush();
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+            generator.writeEndArray();
+        }
+    }
+
 }
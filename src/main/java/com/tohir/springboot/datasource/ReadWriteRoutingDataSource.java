@@ -0,0 +1,75 @@
+package com.tohir.springboot.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for read-only transactions to the replica pool and
+ * everything else to the primary. After any read-write transaction, reads stay
+ * on the primary for {@code stickiness} so a client that just wrote does not
+ * read a replica that has not caught up yet. The window is global rather than
+ * per client: simple, and it only costs replica offload right after writes.
+ * <p>
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction's read-only flag is set only after the transaction manager
+ * asks for a connection, so the real connection has to be fetched lazily.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final long stickinessNanos;
+
+    private final LongSupplier ticker;
+
+    private final AtomicLong lastWriteAt;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration stickiness) {
+        this(primary, replica, stickiness, System::nanoTime);
+    }
+
+    ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration stickiness, LongSupplier ticker) {
+        this.stickinessNanos = stickiness.toNanos();
+        this.ticker = ticker;
+        this.lastWriteAt = new AtomicLong(ticker.getAsLong() - stickinessNanos);
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Route.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            markWrite();
+            // restart the window at completion, so it covers replication of what was just committed
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        markWrite();
+                    }
+                });
+            }
+            return Route.PRIMARY;
+        }
+        return ticker.getAsLong() - lastWriteAt.get() < stickinessNanos ? Route.PRIMARY : Route.REPLICA;
+    }
+
+    private void markWrite() {
+        lastWriteAt.set(ticker.getAsLong());
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.tohir.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A row of a bulk request that was not applied. {@code index} is the position
+ * of the row in the request body.
+ */
+@Getter
+@AllArgsConstructor
+public class BulkItemFailure {
+
+    private int index;
+
+    private Long id;
+
+    private String email;
+
+    private String message;
+
+}
@@ -0,0 +1,37 @@
+package com.tohir.springboot.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * Outcome of a bulk create, update or delete. Rows listed in
+ * {@code failures} were skipped; every other row was applied.
+ */
+@Getter
+public class BulkOperationResult {
+
+    private int requested;
+
+    private int succeeded;
+
+    private final List<BulkItemFailure> failures = new ArrayList<>();
+
+    public BulkOperationResult(int requested) {
+        this.requested = requested;
+    }
+
+    public void addRequested(int count) {
+        requested += count;
+    }
+
+    public void addSucceeded(int count) {
+        succeeded += count;
+    }
+
+    public void addFailure(int index, Long id, String email, String message) {
+        failures.add(new BulkItemFailure(index, id, email, message));
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.tohir.springboot.dto;
+
+import java.util.List;
+
+import com.tohir.springboot.entity.EmployeeChange;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Changes after the requested offset, oldest first. Pass {@code nextOffset}
+ * as {@code after} on the next call; it equals the requested offset when
+ * nothing new arrived.
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeeChangeBatch {
+
+    private List<EmployeeChange> changes;
+
+    private long nextOffset;
+
+}
@@ -0,0 +1,20 @@
+package com.tohir.springboot.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One keyset page of employees. {@code nextCursor} is {@code null} on the last
+ * page.
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeePage {
+
+    private List<EmployeeView> content;
+
+    private String nextCursor;
+
+}
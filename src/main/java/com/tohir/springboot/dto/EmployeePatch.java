@@ -0,0 +1,27 @@
+package com.tohir.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Body of {@code PATCH /api/employees/{id}}. Only non-null fields are
+ * written. When {@code version} is set the update only applies if the row is
+ * still at that version.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePatch {
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private Long version;
+
+}
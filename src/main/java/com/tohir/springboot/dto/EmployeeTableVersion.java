@@ -0,0 +1,30 @@
+package com.tohir.springboot.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Version stamp of the whole employees table, computed with one aggregate
+ * query. An insert or update moves {@code lastModified} and the version sum,
+ * a delete moves the count. Only usable as an ETag: a delete can move the
+ * newest {@code lastModified} backwards, so it is no Last-Modified date.
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeeTableVersion {
+
+    private Long count;
+
+    private Long versionSum;
+
+    private Instant lastModified;
+
+    // weak, like EmployeeVersion#getETag: one version, several encodings
+    public String getETag() {
+        long modified = lastModified == null ? 0 : lastModified.toEpochMilli();
+        return "W/\"" + count + "-" + (versionSum == null ? 0 : versionSum) + "-" + modified + "\"";
+    }
+
+}
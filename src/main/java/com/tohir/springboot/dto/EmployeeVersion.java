@@ -0,0 +1,30 @@
+package com.tohir.springboot.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Version stamp of one employee, enough to answer a conditional GET without
+ * loading the row.
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeeVersion {
+
+    private Long version;
+
+    private Instant updatedAt;
+
+    // weak: the optimistic-lock version changes with every write to the row, but the same version is
+    // served as JSON, CBOR or Smile and maybe gzipped, and those bodies are not byte-for-byte equal
+    public String getETag() {
+        return "W/\"" + version + "\"";
+    }
+
+    public long getLastModifiedMillis() {
+        return updatedAt == null ? -1 : updatedAt.toEpochMilli();
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.tohir.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Read-only projection of an employee. Built by JPQL constructor expressions,
+ * so list and search reads never hydrate managed entities or keep
+ * dirty-checking snapshots.
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeeView {
+
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private Long version;
+
+}
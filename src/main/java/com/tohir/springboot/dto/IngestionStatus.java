@@ -0,0 +1,27 @@
+package com.tohir.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Progress of an employee create accepted by the ingestion queue.
+ * {@code employeeId} is set once the row is saved, {@code message} once it
+ * has failed.
+ */
+@Getter
+@AllArgsConstructor
+public class IngestionStatus {
+
+    public enum State {
+        PENDING, SAVED, FAILED
+    }
+
+    private String trackingId;
+
+    private State state;
+
+    private Long employeeId;
+
+    private String message;
+
+}
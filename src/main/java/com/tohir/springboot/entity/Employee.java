@@ -1,11 +1,23 @@
 package com.tohir.springboot.entity;
 
+import java.time.Instant;
+
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.Where;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -19,12 +31,27 @@ import lombok.Setter;
 @Builder
 
 
+// soft delete: removed rows stay until EmployeePurgeJob hard-deletes them, and every entity
+// query skips them; see EmployeeRepository#softDeleteAllById. deleted_at has no index of its own:
+// H2 costs "deleted_at is null" as an equality and picked that index over the name index and the
+// primary key for every live query. The purge walks the primary key instead, which is fine off-peak
 @Entity
-@Table(name = "employees")
+@Table(name = "employees",
+        uniqueConstraints = @UniqueConstraint(name = Employee.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email"),
+        indexes = @Index(name = Employee.NAME_INDEX, columnList = "last_name, first_name"))
+@SQLDelete(sql = "update employees set deleted_at = current_timestamp, email = concat('deleted:', id, ':', email)"
+        + " where id = ? and version = ?")
+@Where(clause = "deleted_at is null")
 public class Employee {
 
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_employees_email";
+
+    public static final String NAME_INDEX = "idx_employees_last_first";
+
+    // pooled sequence instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "first_name", nullable = false)
@@ -36,4 +63,18 @@ public class Employee {
     @Column(nullable = false)
     private String email;
 
+    // optimistic lock; bumped by every update, including PATCH
+    @Version
+    private Long version;
+
+    // set on insert and every update; drives Last-Modified alongside the version-based ETag
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    // written only by the soft-delete statements, so saving a request body can never undelete a row
+    @JsonIgnore
+    @Column(name = "deleted_at", insertable = false, updatable = false)
+    private Instant deletedAt;
+
 }
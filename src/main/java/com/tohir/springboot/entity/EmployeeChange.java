@@ -0,0 +1,64 @@
+package com.tohir.springboot.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outbox row written in the same transaction as the employee change it
+ * records. Carries the employee's state after the change (before it, for a
+ * delete). The id is the offset consumers of the change feed resume from.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "employee_changes",
+        indexes = {
+                @Index(name = "idx_employee_changes_employee", columnList = "employee_id"),
+                @Index(name = "idx_employee_changes_occurred", columnList = "occurred_at") })
+public class EmployeeChange {
+
+    public enum Operation {
+        CREATED, UPDATED, DELETED
+    }
+
+    // IDENTITY rather than a pooled sequence: offsets must follow insert order even across application instances
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Operation operation;
+
+    private Long version;
+
+    @Column(name = "first_name")
+    private String firstName;
+
+    @Column(name = "last_name")
+    private String lastName;
+
+    private String email;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+}
@@ -0,0 +1,205 @@
+package com.tohir.springboot.ingestion;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.tohir.springboot.dto.BulkItemFailure;
+import com.tohir.springboot.dto.BulkOperationResult;
+import com.tohir.springboot.dto.IngestionStatus;
+import com.tohir.springboot.entity.Employee;
+import com.tohir.springboot.service.EmployeeService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind buffer for employee creates. {@link #submit} queues the
+ * employee and returns a tracking id at once; a single background thread
+ * drains up to {@code flushSize} queued creates, or whatever arrived within
+ * {@code flushInterval}, and saves them in one bulk call. A full queue
+ * rejects the submit so callers can back off instead of piling up memory.
+ * <p>
+ * Finished statuses are kept for {@code statusTtl}. They are completed in
+ * time order, so expiry only pops the head of {@code completions} and never
+ * scans the status map.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "employee.ingestion.enabled", havingValue = "true")
+public class EmployeeIngestionQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeIngestionQueue.class);
+
+    private final EmployeeService employeeService;
+
+    private final BlockingQueue<PendingCreate> queue;
+
+    private final int flushSize;
+
+    private final long flushIntervalNanos;
+
+    private final long statusTtlNanos;
+
+    private final Map<String, IngestionStatus> statuses = new ConcurrentHashMap<>();
+
+    private final Queue<Completion> completions = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean running = true;
+
+    private Thread worker;
+
+    @Autowired
+    public EmployeeIngestionQueue(EmployeeService employeeService,
+            @Value("${employee.ingestion.queue-capacity:10000}") int queueCapacity,
+            @Value("${employee.ingestion.flush-size:500}") int flushSize,
+            @Value("${employee.ingestion.flush-interval:200ms}") Duration flushInterval,
+            @Value("${employee.ingestion.status-ttl:10m}") Duration statusTtl) {
+        this.employeeService = employeeService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushSize = flushSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.statusTtlNanos = statusTtl.toNanos();
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = Thread.ofPlatform().name("employee-ingestion").daemon().start(this::run);
+    }
+
+    // beans are destroyed before the service and data source they depend on, so the tail still gets saved
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 5000);
+        while (flush(0) > 0) {
+            // drain what was queued before the worker stopped
+        }
+    }
+
+    /**
+     * @return the tracking id, or {@code null} when the queue is full
+     */
+    public String submit(Employee employee) {
+        String trackingId = UUID.randomUUID().toString();
+        statuses.put(trackingId, new IngestionStatus(trackingId, IngestionStatus.State.PENDING, null, null));
+        if (!running || !queue.offer(new PendingCreate(trackingId, employee))) {
+            statuses.remove(trackingId);
+            return null;
+        }
+        return trackingId;
+    }
+
+    public IngestionStatus getStatus(String trackingId) {
+        return statuses.get(trackingId);
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                flush(flushIntervalNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Employee ingestion flush failed", e);
+            }
+        }
+    }
+
+    /**
+     * Saves the next batch: waits up to {@code waitNanos} for the first create,
+     * then keeps collecting until {@code flushSize} or the end of the interval.
+     *
+     * @return the number of creates taken from the queue
+     */
+    int flush(long waitNanos) throws InterruptedException {
+        List<PendingCreate> batch = new ArrayList<>(flushSize);
+        long deadline = System.nanoTime() + waitNanos;
+        PendingCreate first = waitNanos > 0 ? queue.poll(waitNanos, TimeUnit.NANOSECONDS) : queue.poll();
+        if (first != null) {
+            batch.add(first);
+            queue.drainTo(batch, flushSize - batch.size());
+            while (batch.size() < flushSize && System.nanoTime() < deadline) {
+                PendingCreate next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+                queue.drainTo(batch, flushSize - batch.size());
+            }
+            save(batch);
+        }
+        expireStatuses();
+        return batch.size();
+    }
+
+    private void save(List<PendingCreate> batch) {
+        List<Employee> employees = batch.stream().map(PendingCreate::employee).toList();
+        BulkOperationResult result;
+        try {
+            result = employeeService.saveEmployees(employees);
+        } catch (RuntimeException e) {
+            log.error("Could not save {} queued employees", batch.size(), e);
+            batch.forEach(create -> complete(create, IngestionStatus.State.FAILED, null, e.getMessage()));
+            return;
+        }
+
+        Set<Integer> failedIndexes = new HashSet<>();
+        for (BulkItemFailure failure : result.getFailures()) {
+            failedIndexes.add(failure.getIndex());
+            complete(batch.get(failure.getIndex()), IngestionStatus.State.FAILED, null, failure.getMessage());
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            if (!failedIndexes.contains(i)) {
+                PendingCreate create = batch.get(i);
+                complete(create, IngestionStatus.State.SAVED, create.employee().getId(), null);
+            }
+        }
+    }
+
+    private void complete(PendingCreate create, IngestionStatus.State state, Long employeeId, String message) {
+        statuses.put(create.trackingId(), new IngestionStatus(create.trackingId(), state, employeeId, message));
+        completions.add(new Completion(create.trackingId(), System.nanoTime()));
+    }
+
+    // O(expired entries): stops at the first completion still within the ttl
+    private void expireStatuses() {
+        long now = System.nanoTime();
+        Completion oldest;
+        while ((oldest = completions.peek()) != null && now - oldest.completedAt() > statusTtlNanos) {
+            completions.poll();
+            statuses.remove(oldest.trackingId());
+        }
+    }
+
+    private record PendingCreate(String trackingId, Employee employee) {
+    }
+
+    private record Completion(String trackingId, long completedAt) {
+    }
+
+}
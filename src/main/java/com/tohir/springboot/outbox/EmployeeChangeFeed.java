@@ -0,0 +1,138 @@
+package com.tohir.springboot.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.tohir.springboot.dto.EmployeeChangeBatch;
+import com.tohir.springboot.entity.EmployeeChange;
+import com.tohir.springboot.repository.EmployeeChangeRepository;
+
+/**
+ * Offset-based feed over the {@code employee_changes} outbox.
+ * <p>
+ * A change is only served once it is {@code settleTime} old. Offsets are
+ * assigned at insert but become visible at commit, so a reader could
+ * otherwise see offset 11 before a slower transaction commits offset 10 and
+ * skip it for good. Outbox rows are written last in their transaction, which
+ * keeps that gap far below the settle time.
+ * <p>
+ * Long-polls are parked and answered by {@link #dispatch} once a change past
+ * their offset is visible, or with an empty batch when they time out.
+ * {@link #cleanUp} compacts the outbox to the latest change per employee
+ * after {@code compactAfter} and drops deletes after {@code retention}, so
+ * a consumer replaying from offset 0 still rebuilds every live employee.
+ */
+@Component
+@Profile("!reactive")
+public class EmployeeChangeFeed {
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    public static final Duration MAX_WAIT = Duration.ofSeconds(60);
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeChangeFeed.class);
+
+    private final EmployeeChangeRepository changeRepository;
+
+    private final Duration settleTime;
+
+    private final Duration compactAfter;
+
+    private final Duration retention;
+
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    public EmployeeChangeFeed(EmployeeChangeRepository changeRepository,
+            @Value("${employee.outbox.settle-time:2s}") Duration settleTime,
+            @Value("${employee.outbox.compact-after:1h}") Duration compactAfter,
+            @Value("${employee.outbox.retention:7d}") Duration retention) {
+        this.changeRepository = changeRepository;
+        this.settleTime = settleTime;
+        this.compactAfter = compactAfter;
+        this.retention = retention;
+    }
+
+    public EmployeeChangeBatch read(long after, int limit) {
+        int batchSize = Math.max(1, Math.min(limit, MAX_BATCH_SIZE));
+        List<EmployeeChange> changes = changeRepository.findVisibleAfter(after, horizon(),
+                PageRequest.of(0, batchSize));
+        long nextOffset = changes.isEmpty() ? after : changes.get(changes.size() - 1).getId();
+        return new EmployeeChangeBatch(changes, nextOffset);
+    }
+
+    /**
+     * Answers at once when changes are waiting, otherwise holds the request
+     * for up to {@code wait}.
+     */
+    public DeferredResult<EmployeeChangeBatch> poll(long after, int limit, Duration wait) {
+        EmployeeChangeBatch batch = read(after, limit);
+        Duration timeout = wait.compareTo(MAX_WAIT) > 0 ? MAX_WAIT : wait;
+        if (!batch.getChanges().isEmpty() || timeout.isZero() || timeout.isNegative()) {
+            DeferredResult<EmployeeChangeBatch> result = new DeferredResult<>();
+            result.setResult(batch);
+            return result;
+        }
+
+        DeferredResult<EmployeeChangeBatch> result = new DeferredResult<>(timeout.toMillis(),
+                () -> new EmployeeChangeBatch(List.of(), after));
+        Waiter waiter = new Waiter(after, limit, result);
+        result.onCompletion(() -> waiters.remove(waiter));
+        waiters.add(waiter);
+        return result;
+    }
+
+    // one indexed lookup per tick, whatever the number of parked polls
+    @Scheduled(fixedDelayString = "${employee.outbox.dispatch-interval:PT0.2S}")
+    public void dispatch() {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        long latest = changeRepository.findFirstByOccurredAtLessThanEqualOrderByIdDesc(horizon())
+                .map(EmployeeChange::getId)
+                .orElse(0L);
+        for (Waiter waiter : waiters) {
+            if (waiter.after() < latest && !waiter.result().isSetOrExpired()) {
+                waiter.result().setResult(read(waiter.after(), waiter.limit()));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employee.outbox.cleanup-interval:PT10M}",
+            initialDelayString = "${employee.outbox.cleanup-interval:PT10M}")
+    public void cleanUp() {
+        Instant now = Instant.now();
+        int compacted = changeRepository.compact(now.minus(compactAfter));
+        int expired = changeRepository.deleteOperationsBefore(EmployeeChange.Operation.DELETED,
+                now.minus(retention));
+        if (compacted > 0 || expired > 0) {
+            log.info("Employee outbox cleanup removed {} superseded changes and {} expired deletes",
+                    compacted, expired);
+        }
+    }
+
+    int getWaitingCount() {
+        return waiters.size();
+    }
+
+    private Instant horizon() {
+        return Instant.now().minus(settleTime);
+    }
+
+    private record Waiter(long after, int limit, DeferredResult<EmployeeChangeBatch> result) {
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.tohir.springboot.purge;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.tohir.springboot.repository.EmployeeRepository;
+
+/**
+ * Hard-deletes soft-deleted employees once they are {@code retention} old.
+ * <p>
+ * Deletes on the request path only mark rows, so the row locks and index
+ * maintenance of the real DELETE are moved here. They run in batches of
+ * {@code batchSize} rows, each in its own short transaction, and only
+ * between {@code windowStart} and {@code windowEnd} server time. A window
+ * may wrap past midnight, and equal bounds mean all day. A run stops at the
+ * first short batch or when the window closes, and the next tick resumes
+ * from the lowest remaining id.
+ */
+@Component
+public class EmployeePurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeePurgeJob.class);
+
+    private final EmployeeRepository employeeRepository;
+
+    private final Duration retention;
+
+    private final int batchSize;
+
+    private final LocalTime windowStart;
+
+    private final LocalTime windowEnd;
+
+    @Autowired
+    public EmployeePurgeJob(EmployeeRepository employeeRepository,
+            @Value("${employee.purge.retention:1h}") Duration retention,
+            @Value("${employee.purge.batch-size:500}") int batchSize,
+            @Value("${employee.purge.window-start:01:00}") String windowStart,
+            @Value("${employee.purge.window-end:05:00}") String windowEnd) {
+        this.employeeRepository = employeeRepository;
+        this.retention = retention;
+        this.batchSize = Math.max(1, batchSize);
+        this.windowStart = LocalTime.parse(windowStart);
+        this.windowEnd = LocalTime.parse(windowEnd);
+    }
+
+    @Scheduled(fixedDelayString = "${employee.purge.interval:PT5M}",
+            initialDelayString = "${employee.purge.interval:PT5M}")
+    public void purgeInWindow() {
+        if (!isInWindow(LocalTime.now())) {
+            return;
+        }
+        int purged = purge(() -> isInWindow(LocalTime.now()));
+        if (purged > 0) {
+            log.info("Employee purge removed {} soft-deleted employees", purged);
+        }
+    }
+
+    // returns the number of rows removed; keepGoing is asked after every full batch
+    public int purge(BooleanSupplier keepGoing) {
+        Instant before = Instant.now().minus(retention);
+        int purged = 0;
+        List<Long> ids;
+        do {
+            ids = employeeRepository.findPurgeableIds(before, PageRequest.of(0, batchSize));
+            if (!ids.isEmpty()) {
+                purged += employeeRepository.purgeAllById(ids);
+            }
+        } while (ids.size() == batchSize && keepGoing.getAsBoolean());
+        return purged;
+    }
+
+    boolean isInWindow(LocalTime time) {
+        if (windowStart.equals(windowEnd)) {
+            return true;
+        }
+        if (windowStart.isBefore(windowEnd)) {
+            return !time.isBefore(windowStart) && time.isBefore(windowEnd);
+        }
+        return !time.isBefore(windowStart) || time.isBefore(windowEnd);
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.tohir.springboot.ratelimit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the limit group of a handler method or of all methods of a
+ * controller. Groups are configured under
+ * {@code employee.rate-limit.groups.<name>}; unannotated handlers are not
+ * limited.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimitGroup {
+
+    // full-table reads: list, stream, export
+    String HEAVY = "heavy";
+
+    String BULK = "bulk";
+
+    String QUERY = "query";
+
+    String LOOKUP = "lookup";
+
+    String WRITE = "write";
+
+    String value();
+
+}
@@ -0,0 +1,167 @@
+package com.tohir.springboot.ratelimit;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Applies the {@link RateLimitGroup} limits before a handler runs. In order, a
+ * request is
+ * <ol>
+ * <li>shed with 503 if its group is sheddable and {@code shedAbove} limited
+ * requests are already in flight, so heavy calls go first under overload,</li>
+ * <li>rejected with 503 if its group is at {@code maxConcurrent},</li>
+ * <li>rejected with 429 if its group's token bucket is empty.</li>
+ * </ol>
+ * The permit is taken before the token, and given back on a 429, so a request
+ * turned away for concurrency never spends rate budget.
+ * Every rejection carries Retry-After. The concurrency permit is held until the
+ * response completes, including streamed responses.
+ */
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".permit";
+
+    private static final long BUSY_RETRY_AFTER_SECONDS = 1;
+
+    private final Map<String, GroupLimiter> limiters = new HashMap<>();
+
+    private final Map<Method, Optional<GroupLimiter>> limiterByMethod = new ConcurrentHashMap<>();
+
+    private final int shedAbove;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public RateLimitInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.shedAbove = properties.getShedAbove();
+        properties.getGroups().forEach((group, limit) -> limiters.put(group, new GroupLimiter(group, limit,
+                meterRegistry)));
+        Gauge.builder("employee.ratelimit.in.flight", inFlight, AtomicInteger::get)
+                .description("Limited requests in flight across all groups")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        // async and error dispatches belong to a request that already holds its permit
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        GroupLimiter limiter = limiterFor(method).orElse(null);
+        if (limiter == null) {
+            return true;
+        }
+
+        if (limiter.sheddable && inFlight.get() >= shedAbove) {
+            return reject(response, limiter.shed, HttpStatus.SERVICE_UNAVAILABLE, BUSY_RETRY_AFTER_SECONDS);
+        }
+        if (limiter.concurrency != null && !limiter.concurrency.tryAcquire()) {
+            return reject(response, limiter.busy, HttpStatus.SERVICE_UNAVAILABLE, BUSY_RETRY_AFTER_SECONDS);
+        }
+        long waitNanos = limiter.bucket == null ? 0 : limiter.bucket.tryAcquire();
+        if (waitNanos > 0) {
+            if (limiter.concurrency != null) {
+                limiter.concurrency.release();
+            }
+            long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            return reject(response, limiter.rateLimited, HttpStatus.TOO_MANY_REQUESTS, retryAfter);
+        }
+
+        limiter.inFlight.incrementAndGet();
+        inFlight.incrementAndGet();
+        request.setAttribute(PERMIT_ATTRIBUTE, limiter);
+        return true;
+    }
+
+    // not called for the dispatch that starts async processing, only for the one that finishes it
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof GroupLimiter limiter) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            limiter.inFlight.decrementAndGet();
+            inFlight.decrementAndGet();
+            if (limiter.concurrency != null) {
+                limiter.concurrency.release();
+            }
+        }
+    }
+
+    private Optional<GroupLimiter> limiterFor(HandlerMethod method) {
+        return limiterByMethod.computeIfAbsent(method.getMethod(), key -> {
+            RateLimitGroup group = method.getMethodAnnotation(RateLimitGroup.class);
+            if (group == null) {
+                group = method.getBeanType().getAnnotation(RateLimitGroup.class);
+            }
+            return group == null ? Optional.empty() : Optional.ofNullable(limiters.get(group.value()));
+        });
+    }
+
+    private static boolean reject(HttpServletResponse response, Counter counter, HttpStatus status,
+            long retryAfterSeconds) throws IOException {
+        counter.increment();
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.sendError(status.value());
+        return false;
+    }
+
+    private static final class GroupLimiter {
+
+        private final TokenBucket bucket;
+
+        private final Semaphore concurrency;
+
+        private final boolean sheddable;
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final Counter shed;
+
+        private final Counter rateLimited;
+
+        private final Counter busy;
+
+        private GroupLimiter(String group, RateLimitProperties.GroupLimit limit, MeterRegistry meterRegistry) {
+            this.bucket = limit.getRequestsPerSecond() > 0
+                    ? new TokenBucket(limit.getRequestsPerSecond(), limit.getBurst())
+                    : null;
+            this.concurrency = limit.getMaxConcurrent() > 0 ? new Semaphore(limit.getMaxConcurrent()) : null;
+            this.sheddable = limit.isSheddable();
+            this.shed = rejections(meterRegistry, group, "shed");
+            this.rateLimited = rejections(meterRegistry, group, "rate");
+            this.busy = rejections(meterRegistry, group, "concurrency");
+            Gauge.builder("employee.ratelimit.group.in.flight", inFlight, AtomicInteger::get)
+                    .tag("group", group)
+                    .register(meterRegistry);
+        }
+
+        private static Counter rejections(MeterRegistry meterRegistry, String group, String reason) {
+            return Counter.builder("employee.ratelimit.rejections")
+                    .description("Requests rejected before reaching the handler")
+                    .tag("group", group)
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+
+    }
+
+}
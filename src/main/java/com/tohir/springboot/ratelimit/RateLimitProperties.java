@@ -0,0 +1,39 @@
+package com.tohir.springboot.ratelimit;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("employee.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled;
+
+    // once this many limited requests are in flight, sheddable groups are rejected before anything else
+    private int shedAbove = 150;
+
+    private Map<String, GroupLimit> groups = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class GroupLimit {
+
+        // 0 disables the token bucket
+        private double requestsPerSecond;
+
+        private int burst = 1;
+
+        // 0 disables the concurrency limit
+        private int maxConcurrent;
+
+        private boolean sheddable;
+
+    }
+
+}
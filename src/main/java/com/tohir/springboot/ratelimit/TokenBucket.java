@@ -0,0 +1,58 @@
+package com.tohir.springboot.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket holding up to {@code burst} tokens, refilled continuously at
+ * {@code tokensPerSecond}.
+ */
+public class TokenBucket {
+
+    private final long capacity;
+
+    private final double tokensPerNano;
+
+    private final LongSupplier ticker;
+
+    // a lock rather than synchronized so virtual threads are not pinned while waiting
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double tokens;
+
+    private long refilledAt;
+
+    public TokenBucket(double tokensPerSecond, int burst) {
+        this(tokensPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double tokensPerSecond, int burst, LongSupplier ticker) {
+        this.capacity = Math.max(1, burst);
+        this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.ticker = ticker;
+        this.tokens = capacity;
+        this.refilledAt = ticker.getAsLong();
+    }
+
+    /**
+     * @return 0 when a token was taken, otherwise the nanoseconds until one is
+     *         available
+     */
+    public long tryAcquire() {
+        lock.lock();
+        try {
+            long now = ticker.getAsLong();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.tohir.springboot.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tohir.springboot.entity.EmployeeChange;
+
+public interface EmployeeChangeRepository extends JpaRepository<EmployeeChange, Long> {
+
+    // copies the current rows in one statement, so a bulk chunk costs one outbox INSERT and no reads;
+    // rows already soft-deleted are skipped, so a repeated delete records nothing
+    @Modifying
+    @Query(value = "insert into employee_changes"
+            + " (employee_id, operation, version, first_name, last_name, email, occurred_at)"
+            + " select id, :operation, version, first_name, last_name, email, :occurredAt"
+            + " from employees where id in (:ids) and deleted_at is null order by id", nativeQuery = true)
+    int appendChanges(@Param("operation") String operation, @Param("ids") Collection<Long> ids,
+            @Param("occurredAt") Instant occurredAt);
+
+    // runs after softDeleteAllById, so it picks the rows that statement deleted and reads the address
+    // back out of the tombstone
+    @Modifying
+    @Query(value = "insert into employee_changes"
+            + " (employee_id, operation, version, first_name, last_name, email, occurred_at)"
+            + " select id, 'DELETED', version, first_name, last_name,"
+            + " substring(email, length(concat('deleted:', id, ':')) + 1), :occurredAt"
+            + " from employees where id in (:ids) and deleted_at = :deletedAt order by id", nativeQuery = true)
+    int appendDeletes(@Param("ids") Collection<Long> ids, @Param("deletedAt") Instant deletedAt,
+            @Param("occurredAt") Instant occurredAt);
+
+    @Transactional(readOnly = true)
+    @Query("select c from EmployeeChange c where c.id > :after and c.occurredAt <= :horizon order by c.id")
+    List<EmployeeChange> findVisibleAfter(@Param("after") long after, @Param("horizon") Instant horizon,
+            Pageable pageable);
+
+    // walks the primary key backwards and stops at the first visible row
+    @Transactional(readOnly = true)
+    Optional<EmployeeChange> findFirstByOccurredAtLessThanEqualOrderByIdDesc(Instant horizon);
+
+    // keeps only the latest change of each employee once it is older than :before
+    @Transactional
+    @Modifying
+    @Query("delete from EmployeeChange c where c.occurredAt < :before"
+            + " and c.id < (select max(l.id) from EmployeeChange l where l.employeeId = c.employeeId)")
+    int compact(@Param("before") Instant before);
+
+    @Transactional
+    @Modifying
+    @Query("delete from EmployeeChange c where c.operation = :operation and c.occurredAt < :before")
+    int deleteOperationsBefore(@Param("operation") EmployeeChange.Operation operation,
+            @Param("before") Instant before);
+
+}
@@ -1,31 +1,131 @@
 package com.tohir.springboot.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.tohir.springboot.dto.EmployeeTableVersion;
+import com.tohir.springboot.dto.EmployeeVersion;
+import com.tohir.springboot.dto.EmployeeView;
 import com.tohir.springboot.entity.Employee;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+import jakarta.persistence.QueryHint;
 
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
+
+    String VIEW = "select new com.tohir.springboot.dto.EmployeeView(e.id, e.firstName, e.lastName, e.email, e.version)";
+
+    // read-only: Hibernate keeps no snapshot for dirty checking; updates go through save/merge.
+    // A query rather than em.find, so the @Where soft-delete filter applies to lookups by id as well
+    @Override
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select e from Employee e where e.id = :id")
+    Optional<Employee> findById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Optional<Employee> findByEmail(String email);
 
+    @Transactional(readOnly = true)
+    @Query(VIEW + " from Employee e order by e.id")
+    List<EmployeeView> findAllViews();
+
+    @Transactional(readOnly = true)
+    @Query("select new com.tohir.springboot.dto.EmployeeVersion(e.version, e.updatedAt)"
+            + " from Employee e where e.id = :id")
+    Optional<EmployeeVersion> findVersionById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.tohir.springboot.dto.EmployeeTableVersion(count(e), sum(e.version), max(e.updatedAt))"
+            + " from Employee e")
+    EmployeeTableVersion findTableVersion();
+
+    List<Employee> findByEmailIn(Collection<String> emails);
+
+    @Query("select e.email from Employee e where e.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select e.id from Employee e where e.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // keyset pagination: seek past the last id of the previous page instead of using an offset
+    @Transactional(readOnly = true)
+    @Query(VIEW + " from Employee e where e.id > :afterId order by e.id")
+    List<EmployeeView> findNextPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    // prefix search on (last_name, first_name), served by the idx_employees_last_first index. The last
+    // name prefix is bound as a range: H2 only turns LIKE into an index condition for a literal pattern,
+    // so the LIKE ? Spring Data derives for StartingWith could not use it
+    default Page<EmployeeView> findByLastNameStartingWithAndFirstNameStartingWith(String lastName, String firstName,
+            Pageable pageable) {
+        return findByLastNameRange(lastName, lastName + Character.MAX_VALUE, escapeLike(firstName) + "%", pageable);
+    }
+
+    @Transactional(readOnly = true)
+    @Query(value = VIEW + " from Employee e where e.lastName >= :from and e.lastName < :to"
+            + " and e.firstName like :firstNamePattern escape '\\'",
+            countQuery = "select count(e) from Employee e where e.lastName >= :from and e.lastName < :to"
+                    + " and e.firstName like :firstNamePattern escape '\\'")
+    Page<EmployeeView> findByLastNameRange(@Param("from") String from, @Param("to") String to,
+            @Param("firstNamePattern") String firstNamePattern, Pageable pageable);
+
     // define custom query using JPQL with index params
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("select e from Employee e where e.firstName = ?1 and e.lastName = ?2")
-    Employee findByJPQL(String firstName, String lastName);
+    List<Employee> findByJPQL(String firstName, String lastName);
 
     // define custom query using JPQL with named params
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("select e from Employee e where e.firstName =:firstName and e.lastName =:lastName")
-    Employee findByJPQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
+    List<Employee> findByJPQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
 
     // define custom query using Native SQL with index params
-    @Query(value = "select * from employees e where e.first_name = ?1 and e.last_name = ?2", nativeQuery = true)
-    Employee findByNativeSQL(String firstName, String lastName);
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "select * from employees e where e.first_name = ?1 and e.last_name = ?2"
+            + " and e.deleted_at is null", nativeQuery = true)
+    List<Employee> findByNativeSQL(String firstName, String lastName);
 
     // define custom query using Native SQL with named params
-    @Query(value = "select * from employees e where e.first_name =:firstName and e.last_name =:lastName", nativeQuery = true)
-    Employee findByNativeSQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "select * from employees e where e.first_name =:firstName and e.last_name =:lastName"
+            + " and e.deleted_at is null", nativeQuery = true)
+    List<Employee> findByNativeSQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
+
+    // one UPDATE instead of a load plus DELETE per row. The email is replaced by a tombstone so the
+    // unique index frees the address at once; the tombstone keeps the address for the DELETED outbox change
+    @Modifying
+    @Query(value = "update employees set deleted_at = :deletedAt, email = concat('deleted:', id, ':', email)"
+            + " where id in (:ids) and deleted_at is null", nativeQuery = true)
+    int softDeleteAllById(@Param("ids") Collection<Long> ids, @Param("deletedAt") Instant deletedAt);
+
+    // native, as the @Where filter would hide exactly the rows the purge is looking for
+    @Transactional(readOnly = true)
+    @Query(value = "select id from employees where deleted_at < :before order by id", nativeQuery = true)
+    List<Long> findPurgeableIds(@Param("before") Instant before, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query(value = "delete from employees where id in (:ids) and deleted_at is not null", nativeQuery = true)
+    int purgeAllById(@Param("ids") Collection<Long> ids);
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 
 }
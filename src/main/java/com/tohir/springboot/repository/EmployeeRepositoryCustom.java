@@ -0,0 +1,10 @@
+package com.tohir.springboot.repository;
+
+import com.tohir.springboot.dto.EmployeePatch;
+
+public interface EmployeeRepositoryCustom {
+
+    // single UPDATE of the non-null patch fields plus a version bump; returns the number of rows changed
+    int patch(Long id, EmployeePatch patch);
+
+}
@@ -0,0 +1,52 @@
+package com.tohir.springboot.repository;
+
+import java.time.Instant;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tohir.springboot.dto.EmployeePatch;
+import com.tohir.springboot.entity.Employee;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int patch(Long id, EmployeePatch patch) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = builder.createCriteriaUpdate(Employee.class);
+        Root<Employee> employee = update.from(Employee.class);
+
+        if (patch.getFirstName() != null) {
+            update.set(employee.<String>get("firstName"), patch.getFirstName());
+        }
+        if (patch.getLastName() != null) {
+            update.set(employee.<String>get("lastName"), patch.getLastName());
+        }
+        if (patch.getEmail() != null) {
+            update.set(employee.<String>get("email"), patch.getEmail());
+        }
+        update.set(employee.<Long>get("version"), builder.sum(employee.<Long>get("version"), 1L));
+        // bulk updates bypass @UpdateTimestamp
+        update.set(employee.<Instant>get("updatedAt"), Instant.now());
+
+        Predicate where = builder.and(builder.equal(employee.get("id"), id),
+                builder.isNull(employee.get("deletedAt")));
+        if (patch.getVersion() != null) {
+            where = builder.and(where, builder.equal(employee.get("version"), patch.getVersion()));
+        }
+        update.where(where);
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.tohir.springboot.repository;
+
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.tohir.springboot.entity.Employee;
+
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeRepository} over R2DBC. It reads
+ * and writes the same {@code employees} table and draws ids from the same
+ * sequence as the JPA mapping, including its soft delete: removed rows are
+ * skipped by every statement and left for {@code EmployeePurgeJob}.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveEmployeeRepository {
+
+    private static final String COLUMNS = "id, first_name, last_name, email, version, updated_at";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Flux<Employee> findAll() {
+        return databaseClient.sql("select " + COLUMNS + " from employees where deleted_at is null order by id")
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    public Mono<Employee> findById(Long id) {
+        return databaseClient.sql("select " + COLUMNS + " from employees where id = :id and deleted_at is null")
+                .bind("id", id)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .one();
+    }
+
+    public Mono<Employee> insert(Employee employee) {
+        Instant now = Instant.now();
+        return databaseClient.sql("select next value for employees_seq")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(id -> databaseClient
+                        .sql("insert into employees (" + COLUMNS + ")"
+                                + " values (:id, :firstName, :lastName, :email, 0, :updatedAt)")
+                        .bind("id", id)
+                        .bind("firstName", employee.getFirstName())
+                        .bind("lastName", employee.getLastName())
+                        .bind("email", employee.getEmail())
+                        .bind("updatedAt", now)
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(Employee.builder().id(id).firstName(employee.getFirstName())
+                                .lastName(employee.getLastName()).email(employee.getEmail()).version(0L)
+                                .updatedAt(now)
+                                .build()));
+    }
+
+    // emits nothing when no row has the given id
+    public Mono<Employee> update(Long id, Employee employee) {
+        return databaseClient
+                .sql("update employees set first_name = :firstName, last_name = :lastName, email = :email,"
+                        + " version = version + 1, updated_at = current_timestamp"
+                        + " where id = :id and deleted_at is null")
+                .bind("id", id)
+                .bind("firstName", employee.getFirstName())
+                .bind("lastName", employee.getLastName())
+                .bind("email", employee.getEmail())
+                .fetch()
+                .rowsUpdated()
+                .filter(rows -> rows > 0)
+                .flatMap(rows -> findById(id));
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient
+                .sql("update employees set deleted_at = :deletedAt, email = concat('deleted:', id, ':', email)"
+                        + " where id = :id and deleted_at is null")
+                .bind("id", id)
+                .bind("deletedAt", Instant.now())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static Employee toEmployee(Row row, RowMetadata metadata) {
+        return Employee.builder().id(row.get("id", Long.class)).firstName(row.get("first_name", String.class))
+                .lastName(row.get("last_name", String.class)).email(row.get("email", String.class))
+                .version(row.get("version", Long.class)).updatedAt(row.get("updated_at", Instant.class))
+                .build();
+    }
+
+}
@@ -0,0 +1,253 @@
+package com.tohir.springboot.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import com.tohir.springboot.dto.EmployeePatch;
+import com.tohir.springboot.dto.EmployeeView;
+import com.tohir.springboot.repository.EmployeeRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-process trigram index over first name, last name and email. Each word
+ * is indexed as the trigrams of {@code $word$}, so a query matches on shared
+ * trigrams: whole words, prefixes (the last query word is not closed with
+ * {@code $}), fragments of an email and words with a typo all find the
+ * employee. Hits are ranked by the share of query trigrams they contain;
+ * hits where every query word is a prefix of one of their words rank first.
+ * <p>
+ * Loaded from the database when the bean is created and kept current by
+ * {@code EmployeeServiceImpl} on every write.
+ */
+@Component
+public class EmployeeSearchIndex {
+
+    private static final int LOAD_CHUNK_SIZE = 10_000;
+
+    private static final char BOUNDARY = '$';
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparing(hit -> hit.view().getLastName(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(hit -> hit.view().getFirstName(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(hit -> hit.view().getId());
+
+    private final double minSimilarity;
+
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+
+    // searches share the read lock; writes are single-row and brief
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    public EmployeeSearchIndex(@Value("${employee.search.min-similarity:0.5}") double minSimilarity) {
+        this.minSimilarity = minSimilarity;
+    }
+
+    // runs before the service that depends on this bean can accept writes
+    @PostConstruct
+    public void load() {
+        if (employeeRepository == null) {
+            return;
+        }
+        long afterId = 0;
+        List<EmployeeView> chunk;
+        do {
+            chunk = employeeRepository.findNextPage(afterId, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            for (EmployeeView view : chunk) {
+                put(view);
+                afterId = view.getId();
+            }
+        } while (chunk.size() == LOAD_CHUNK_SIZE);
+    }
+
+    public void put(EmployeeView view) {
+        if (view.getId() == null) {
+            return;
+        }
+        Document document = new Document(view, words(view));
+        lock.writeLock().lock();
+        try {
+            unindex(documents.put(view.getId(), document));
+            for (String gram : document.grams()) {
+                postings.computeIfAbsent(gram, key -> new HashSet<>()).add(view.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a successful partial update to the indexed copy, so a patch does
+     * not have to reload the row.
+     */
+    public void patch(Long id, EmployeePatch patch) {
+        EmployeeView current;
+        lock.readLock().lock();
+        try {
+            Document document = documents.get(id);
+            current = document == null ? null : document.view();
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (current == null) {
+            return;
+        }
+        put(new EmployeeView(id,
+                patch.getFirstName() != null ? patch.getFirstName() : current.getFirstName(),
+                patch.getLastName() != null ? patch.getLastName() : current.getLastName(),
+                patch.getEmail() != null ? patch.getEmail() : current.getEmail(),
+                current.getVersion() == null ? null : current.getVersion() + 1));
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            unindex(documents.remove(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Page<EmployeeView> search(String query, Pageable pageable) {
+        List<String> queryWords = words(query);
+        Set<String> queryGrams = new LinkedHashSet<>();
+        for (int i = 0; i < queryWords.size(); i++) {
+            // the last word may still be being typed, so it is matched as a prefix
+            boolean prefix = i == queryWords.size() - 1;
+            addGrams(queryWords.get(i), !prefix, queryGrams);
+        }
+        if (queryGrams.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<Long, int[]> shared = new HashMap<>();
+            for (String gram : queryGrams) {
+                for (Long id : postings.getOrDefault(gram, Set.of())) {
+                    shared.computeIfAbsent(id, key -> new int[1])[0]++;
+                }
+            }
+            for (Map.Entry<Long, int[]> candidate : shared.entrySet()) {
+                double similarity = (double) candidate.getValue()[0] / queryGrams.size();
+                if (similarity < minSimilarity) {
+                    continue;
+                }
+                Document document = documents.get(candidate.getKey());
+                double score = similarity + (document.startsWithAll(queryWords) ? 1 : 0);
+                hits.add(new Hit(document.view(), score));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(RANKING);
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        int to = Math.min(from + pageable.getPageSize(), hits.size());
+        List<EmployeeView> content = hits.subList(from, to).stream().map(Hit::view).toList();
+        return new PageImpl<>(content, pageable, hits.size());
+    }
+
+    private void unindex(Document document) {
+        if (document == null) {
+            return;
+        }
+        for (String gram : document.grams()) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null && ids.remove(document.view().getId()) && ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static List<String> words(EmployeeView view) {
+        List<String> words = new ArrayList<>();
+        words.addAll(words(view.getFirstName()));
+        words.addAll(words(view.getLastName()));
+        words.addAll(words(view.getEmail()));
+        return words;
+    }
+
+    // lower case without accents, split on anything that is not a letter or digit
+    static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATOR.split(folded)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    static void addGrams(String word, boolean closed, Set<String> grams) {
+        String padded = BOUNDARY + word + (closed ? String.valueOf(BOUNDARY) : "");
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+    }
+
+    private record Document(EmployeeView view, List<String> words, Set<String> grams) {
+
+        private Document(EmployeeView view, List<String> words) {
+            this(view, words, gramsOf(words));
+        }
+
+        private static Set<String> gramsOf(List<String> words) {
+            Set<String> grams = new HashSet<>();
+            words.forEach(word -> addGrams(word, true, grams));
+            return grams;
+        }
+
+        private boolean startsWithAll(List<String> queryWords) {
+            return queryWords.stream().allMatch(queryWord -> words.stream().anyMatch(word -> word.startsWith(queryWord)));
+        }
+
+    }
+
+    private record Hit(EmployeeView view, double score) {
+    }
+
+}
@@ -1,20 +1,56 @@
 package com.tohir.springboot.service;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+
+import com.tohir.springboot.dto.BulkOperationResult;
+import com.tohir.springboot.dto.EmployeePage;
+import com.tohir.springboot.dto.EmployeePatch;
+import com.tohir.springboot.dto.EmployeeTableVersion;
+import com.tohir.springboot.dto.EmployeeVersion;
+import com.tohir.springboot.dto.EmployeeView;
 import com.tohir.springboot.entity.Employee;
 
 public interface EmployeeService {
     
     Employee saveEmployee(Employee employee);
 
-    List<Employee> getAllEmployees();
+    BulkOperationResult saveEmployees(List<Employee> employees);
+
+    BulkOperationResult importEmployees(Iterator<Employee> employees);
+
+    // the first keyset page at the largest page size; continue with getEmployeesPage(nextCursor, ...)
+    EmployeePage getAllEmployees();
+
+    EmployeePage getEmployeesPage(String cursor, int size);
 
     Optional<Employee> getEmployeeById(Long id);
 
+    List<Employee> getEmployeesByIds(List<Long> ids);
+
+    Optional<Employee> getEmployeeByEmail(String email);
+
+    List<Employee> getEmployeesByName(String firstName, String lastName);
+
+    Optional<EmployeeVersion> getEmployeeVersion(Long id);
+
+    EmployeeTableVersion getEmployeesVersion();
+
+    Page<EmployeeView> searchEmployees(String query, int page, int size);
+
+    Page<EmployeeView> searchEmployeesByName(String lastNamePrefix, String firstNamePrefix, int page, int size);
+
     Employee updateEmployee(Employee updatedEmployee);
 
+    BulkOperationResult updateEmployees(List<Employee> updatedEmployees);
+
+    void patchEmployee(Long id, EmployeePatch patch);
+
     void deleteEmployee(Long id);
+
+    BulkOperationResult deleteEmployees(List<Long> ids);
     
 }
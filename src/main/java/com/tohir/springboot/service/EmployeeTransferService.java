@@ -0,0 +1,19 @@
+package com.tohir.springboot.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.tohir.springboot.dto.BulkOperationResult;
+
+public interface EmployeeTransferService {
+
+    void exportNdjson(OutputStream outputStream) throws IOException;
+
+    void exportCsv(OutputStream outputStream) throws IOException;
+
+    BulkOperationResult importNdjson(InputStream inputStream) throws IOException;
+
+    BulkOperationResult importCsv(InputStream inputStream) throws IOException;
+
+}
@@ -0,0 +1,20 @@
+package com.tohir.springboot.service;
+
+import com.tohir.springboot.entity.Employee;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeService {
+
+    Mono<Employee> saveEmployee(Employee employee);
+
+    Flux<Employee> getAllEmployees();
+
+    Mono<Employee> getEmployeeById(Long id);
+
+    Mono<Employee> updateEmployee(Long id, Employee updatedEmployee);
+
+    Mono<Void> deleteEmployee(Long id);
+
+}
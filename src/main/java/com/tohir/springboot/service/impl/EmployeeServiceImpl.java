@@ -1,51 +1,518 @@
 package com.tohir.springboot.service.impl;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.tohir.springboot.cache.EmployeeCache;
+import com.tohir.springboot.cache.EmployeeLookupBatcher;
+import com.tohir.springboot.cache.EmployeeLookupCoalescer;
+import com.tohir.springboot.dto.BulkOperationResult;
+import com.tohir.springboot.dto.EmployeePage;
+import com.tohir.springboot.dto.EmployeePatch;
+import com.tohir.springboot.dto.EmployeeTableVersion;
+import com.tohir.springboot.dto.EmployeeVersion;
+import com.tohir.springboot.dto.EmployeeView;
 import com.tohir.springboot.entity.Employee;
+import com.tohir.springboot.entity.EmployeeChange;
+import com.tohir.springboot.exception.EmployeeAlreadyExistsException;
+import com.tohir.springboot.exception.EmployeeVersionConflictException;
 import com.tohir.springboot.exception.ResourceNotFoundException;
+import com.tohir.springboot.exception.TooManyIdsException;
+import com.tohir.springboot.repository.EmployeeChangeRepository;
 import com.tohir.springboot.repository.EmployeeRepository;
+import com.tohir.springboot.search.EmployeeSearchIndex;
 import com.tohir.springboot.service.EmployeeService;
+import com.tohir.springboot.utils.ConstraintViolations;
+import com.tohir.springboot.utils.CursorUtils;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed(value = "employee.service", histogram = true)
 public class EmployeeServiceImpl implements EmployeeService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    // rows per transaction for bulk operations; hibernate.jdbc.batch_size splits each into JDBC batches
+    public static final int BULK_CHUNK_SIZE = 1000;
+
+    private static final String DUPLICATE_EMAIL_MESSAGE = "Employee with this mail already exists";
+
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private EmployeeChangeRepository changeRepository;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @Autowired
+    private EmployeeLookupCoalescer lookupCoalescer;
+
+    // present only when employee.lookup.batch.enabled=true
+    @Autowired(required = false)
+    private EmployeeLookupBatcher lookupBatcher;
+
+    @Autowired
+    private EmployeeSearchIndex searchIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @Override
     public Employee saveEmployee(Employee employee) {
 
-        Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
-        if (savedEmployee.isPresent()) {
-            throw new ResourceNotFoundException("Employee with this mail already exists");
+        // a single INSERT; the unique index on email rejects duplicates, even between concurrent creates
+        employee.setId(null);
+        employee.setVersion(null);
+        Employee saved = saveOrThrowConflict(employee, EmployeeChange.Operation.CREATED);
+        invalidate(saved.getId());
+        searchIndex.put(view(saved));
+        return saved;
+    }
+
+    @Override
+    public BulkOperationResult saveEmployees(List<Employee> employees) {
+        BulkOperationResult result = new BulkOperationResult(employees.size());
+        for (int start = 0; start < employees.size(); start += BULK_CHUNK_SIZE) {
+            int end = Math.min(start + BULK_CHUNK_SIZE, employees.size());
+            insertChunk(employees.subList(start, end), start, result);
+        }
+        return result;
+    }
+
+    // pulls one chunk at a time, so an import of any size holds at most BULK_CHUNK_SIZE rows
+    @Override
+    public BulkOperationResult importEmployees(Iterator<Employee> employees) {
+        BulkOperationResult result = new BulkOperationResult(0);
+        int offset = 0;
+        while (employees.hasNext()) {
+            List<Employee> chunk = new ArrayList<>(BULK_CHUNK_SIZE);
+            while (chunk.size() < BULK_CHUNK_SIZE && employees.hasNext()) {
+                chunk.add(employees.next());
+            }
+            result.addRequested(chunk.size());
+            insertChunk(chunk, offset, result);
+            offset += chunk.size();
         }
+        return result;
+    }
 
-        return employeeRepository.save(employee);
+    // capped like any other page, so the legacy list endpoint never reads the whole table
+    @Override
+    public EmployeePage getAllEmployees() {
+        return getEmployeesPage(null, MAX_PAGE_SIZE);
     }
 
     @Override
-    public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+    public EmployeePage getEmployeesPage(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long afterId = (cursor == null || cursor.isBlank()) ? 0L : CursorUtils.decode(cursor);
+
+        // fetch one extra row to know whether another page exists without a count query
+        List<EmployeeView> rows = employeeRepository.findNextPage(afterId, PageRequest.of(0, pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new EmployeePage(rows, null);
+        }
+
+        List<EmployeeView> content = rows.subList(0, pageSize);
+        return new EmployeePage(content, CursorUtils.encode(content.get(pageSize - 1).getId()));
     }
 
     @Override
     public Optional<Employee> getEmployeeById(Long id) {
-        return employeeRepository.findById(id);
+        Employee cached = employeeCache.getById(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        // concurrent misses for the same id share one query
+        return lookupCoalescer.byId(id, () -> {
+            // taken before the read, so a write evicting the id meanwhile keeps this copy out of the cache
+            long stamp = employeeCache.stamp();
+            Optional<Employee> employee = lookupBatcher != null
+                    ? lookupBatcher.findById(id)
+                    : employeeRepository.findById(id);
+            employee.ifPresent(loaded -> employeeCache.put(loaded, stamp));
+            return employee;
+        });
+    }
+
+    // cache hits first, then one IN-list query for the rest; unknown ids are left out
+    @Override
+    public List<Employee> getEmployeesByIds(List<Long> ids) {
+        if (ids.size() > MAX_PAGE_SIZE) {
+            throw new TooManyIdsException("At most " + MAX_PAGE_SIZE + " ids per request, got " + ids.size());
+        }
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, Employee> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : distinctIds) {
+            Employee cached = employeeCache.getById(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long stamp = employeeCache.stamp();
+            for (Employee employee : employeeRepository.findAllById(missing)) {
+                employeeCache.put(employee, stamp);
+                found.put(employee.getId(), employee);
+            }
+        }
+        return distinctIds.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public Optional<Employee> getEmployeeByEmail(String email) {
+        Employee cached = employeeCache.getByEmail(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        return lookupCoalescer.byEmail(email, () -> {
+            long stamp = employeeCache.stamp();
+            Optional<Employee> employee = employeeRepository.findByEmail(email);
+            employee.ifPresent(loaded -> employeeCache.put(loaded, stamp));
+            return employee;
+        });
+    }
+
+    @Override
+    public List<Employee> getEmployeesByName(String firstName, String lastName) {
+        return lookupCoalescer.byName(firstName, lastName,
+                () -> employeeRepository.findByJPQLNamedParams(firstName, lastName));
+    }
+
+    // conditional GETs: the cached copy or a two-column query, never the full row
+    @Override
+    public Optional<EmployeeVersion> getEmployeeVersion(Long id) {
+        Employee cached = employeeCache.getById(id);
+        if (cached != null) {
+            return Optional.of(new EmployeeVersion(cached.getVersion(), cached.getUpdatedAt()));
+        }
+        return employeeRepository.findVersionById(id);
+    }
+
+    @Override
+    public Page<EmployeeView> searchEmployees(String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return searchIndex.search(query, PageRequest.of(Math.max(page, 0), pageSize));
+    }
+
+    @Override
+    public EmployeeTableVersion getEmployeesVersion() {
+        return employeeRepository.findTableVersion();
+    }
+
+    @Override
+    public Page<EmployeeView> searchEmployeesByName(String lastNamePrefix, String firstNamePrefix, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // sort in index order so the database can walk the index instead of sorting
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), pageSize,
+                Sort.by("lastName", "firstName", "id"));
+        return employeeRepository.findByLastNameStartingWithAndFirstNameStartingWith(lastNamePrefix,
+                firstNamePrefix == null ? "" : firstNamePrefix, pageRequest);
     }
 
     @Override
     public Employee updateEmployee(Employee updatedEmployee) {
-        return employeeRepository.save(updatedEmployee);
+        Employee saved = saveOrThrowConflict(updatedEmployee, EmployeeChange.Operation.UPDATED);
+        invalidate(saved.getId());
+        searchIndex.put(view(saved));
+        return saved;
+    }
+
+    @Override
+    public BulkOperationResult updateEmployees(List<Employee> updatedEmployees) {
+        BulkOperationResult result = new BulkOperationResult(updatedEmployees.size());
+        for (int start = 0; start < updatedEmployees.size(); start += BULK_CHUNK_SIZE) {
+            int end = Math.min(start + BULK_CHUNK_SIZE, updatedEmployees.size());
+            updateChunk(updatedEmployees.subList(start, end), start, result);
+        }
+        return result;
     }
 
+    @Override
+    public void patchEmployee(Long id, EmployeePatch patch) {
+        int updated;
+        try {
+            updated = transactionTemplate.execute(status -> {
+                int count = employeeRepository.patch(id, patch);
+                if (count > 0) {
+                    recordChanges(EmployeeChange.Operation.UPDATED, List.of(id));
+                }
+                return count;
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isDuplicateEmail(e)) {
+                throw new EmployeeAlreadyExistsException(DUPLICATE_EMAIL_MESSAGE, e);
+            }
+            throw e;
+        }
+        invalidate(id);
+
+        if (updated == 0) {
+            // only the failure path pays for telling a stale version apart from a missing row
+            if (patch.getVersion() != null && employeeRepository.existsById(id)) {
+                throw new EmployeeVersionConflictException("Employee " + id + " is no longer at version "
+                        + patch.getVersion());
+            }
+            throw new ResourceNotFoundException("Employee not found with id " + id);
+        }
+        searchIndex.patch(id, patch);
+    }
+
+    // a soft delete: one UPDATE here, the row itself goes later with EmployeePurgeJob
     @Override
     public void deleteEmployee(Long id) {
-        employeeRepository.deleteById(id);
+        transactionTemplate.executeWithoutResult(status -> softDeleteAndRecord(List.of(id)));
+        invalidate(id);
+        searchIndex.remove(id);
+    }
+
+    @Override
+    public BulkOperationResult deleteEmployees(List<Long> ids) {
+        BulkOperationResult result = new BulkOperationResult(ids.size());
+        for (int start = 0; start < ids.size(); start += BULK_CHUNK_SIZE) {
+            int end = Math.min(start + BULK_CHUNK_SIZE, ids.size());
+            deleteChunk(ids.subList(start, end), start, result);
+        }
+        return result;
+    }
+
+    private void insertChunk(List<Employee> chunk, int offset, BulkOperationResult result) {
+        Set<String> emails = chunk.stream().map(Employee::getEmail).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> takenEmails = emails.isEmpty() ? new HashSet<>()
+                : new HashSet<>(employeeRepository.findExistingEmails(emails));
+
+        List<Employee> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Employee employee = chunk.get(i);
+            String error = validate(employee);
+            if (error == null && !takenEmails.add(employee.getEmail())) {
+                error = DUPLICATE_EMAIL_MESSAGE;
+            }
+            if (error != null) {
+                result.addFailure(offset + i, employee.getId(), employee.getEmail(), error);
+                continue;
+            }
+            employee.setId(null);
+            employee.setVersion(null);
+            accepted.add(employee);
+            acceptedIndexes.add(offset + i);
+        }
+        insertRows(accepted, acceptedIndexes, result);
+    }
+
+    private void updateChunk(List<Employee> chunk, int offset, BulkOperationResult result) {
+        List<Employee> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        try {
+            // load, modify and flush in one transaction so the changes are applied by dirty checking
+            // as batched UPDATEs, without a merge SELECT per row
+            transactionTemplate.executeWithoutResult(status -> {
+                applyUpdates(chunk, offset, result, accepted, acceptedIndexes);
+                employeeRepository.flush();
+                recordChanges(EmployeeChange.Operation.UPDATED, ids(accepted));
+            });
+            result.addSucceeded(accepted.size());
+            accepted.forEach(this::evictAndIndex);
+        } catch (DataIntegrityViolationException e) {
+            writeRowByRow(accepted, acceptedIndexes, result, false);
+        }
+    }
+
+    private void applyUpdates(List<Employee> chunk, int offset, BulkOperationResult result,
+            List<Employee> accepted, List<Integer> acceptedIndexes) {
+        Set<Long> ids = chunk.stream().map(Employee::getId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<String> emails = chunk.stream().map(Employee::getEmail).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Employee> savedEmployees = employeeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        Map<String, Long> emailOwners = emails.isEmpty() ? new HashMap<>()
+                : employeeRepository.findByEmailIn(emails).stream()
+                        .collect(Collectors.toMap(Employee::getEmail, Employee::getId, (first, second) -> first));
+
+        Set<Long> seenIds = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Employee employee = chunk.get(i);
+            String error = employee.getId() == null ? "Employee id is required" : validate(employee);
+            Employee savedEmployee = savedEmployees.get(employee.getId());
+            if (error == null && (savedEmployee == null || !seenIds.add(employee.getId()))) {
+                error = savedEmployee == null ? "Employee not found" : "Employee appears more than once";
+            }
+            if (error == null) {
+                Long owner = emailOwners.putIfAbsent(employee.getEmail(), employee.getId());
+                if (owner != null && !owner.equals(employee.getId())) {
+                    error = DUPLICATE_EMAIL_MESSAGE;
+                }
+            }
+            if (error != null) {
+                result.addFailure(offset + i, employee.getId(), employee.getEmail(), error);
+                continue;
+            }
+            savedEmployee.setFirstName(employee.getFirstName());
+            savedEmployee.setLastName(employee.getLastName());
+            savedEmployee.setEmail(employee.getEmail());
+            accepted.add(savedEmployee);
+            acceptedIndexes.add(offset + i);
+        }
+    }
+
+    private void deleteChunk(List<Long> chunk, int offset, BulkOperationResult result) {
+        Set<Long> ids = chunk.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> existingIds = ids.isEmpty() ? new HashSet<>()
+                : new HashSet<>(employeeRepository.findExistingIds(ids));
+
+        List<Long> toDelete = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Long id = chunk.get(i);
+            // remove() so a repeated id is reported instead of counted twice
+            if (id == null || !existingIds.remove(id)) {
+                result.addFailure(offset + i, id, null, "Employee not found");
+                continue;
+            }
+            toDelete.add(id);
+        }
+        if (!toDelete.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> softDeleteAndRecord(toDelete));
+            result.addSucceeded(toDelete.size());
+            toDelete.forEach(id -> {
+                invalidate(id);
+                searchIndex.remove(id);
+            });
+        }
+    }
+
+    private void insertRows(List<Employee> rows, List<Integer> indexes, BulkOperationResult result) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                employeeRepository.saveAllAndFlush(rows);
+                recordChanges(EmployeeChange.Operation.CREATED, ids(rows));
+            });
+            result.addSucceeded(rows.size());
+            rows.forEach(this::evictAndIndex);
+        } catch (DataIntegrityViolationException e) {
+            writeRowByRow(rows, indexes, result, true);
+        }
+    }
+
+    // another writer raced us for a row of the chunk: retry one by one so only the offending rows fail
+    private void writeRowByRow(List<Employee> rows, List<Integer> indexes, BulkOperationResult result,
+            boolean inserts) {
+        for (int i = 0; i < rows.size(); i++) {
+            Employee row = rows.get(i);
+            if (inserts) {
+                row.setId(null);
+                row.setVersion(null);
+            }
+            try {
+                saveAndRecord(row, inserts ? EmployeeChange.Operation.CREATED : EmployeeChange.Operation.UPDATED);
+                result.addSucceeded(1);
+                evictAndIndex(row);
+            } catch (DataIntegrityViolationException rowError) {
+                if (inserts) {
+                    // the rolled-back INSERT still took an id from the sequence; no row has it
+                    row.setId(null);
+                    row.setVersion(null);
+                }
+                String message = ConstraintViolations.isDuplicateEmail(rowError)
+                        ? DUPLICATE_EMAIL_MESSAGE
+                        : rowError.getMostSpecificCause().getMessage();
+                result.addFailure(indexes.get(i), row.getId(), row.getEmail(), message);
+            }
+        }
+    }
+
+    private void evictAndIndex(Employee employee) {
+        invalidate(employee.getId());
+        searchIndex.put(view(employee));
+    }
+
+    // after the write committed: drop the cached copy and detach loads that may have read the row before it
+    private void invalidate(Long id) {
+        employeeCache.evict(id);
+        lookupCoalescer.invalidate(id);
+    }
+
+    private Employee saveOrThrowConflict(Employee employee, EmployeeChange.Operation operation) {
+        try {
+            return saveAndRecord(employee, operation);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isDuplicateEmail(e)) {
+                throw new EmployeeAlreadyExistsException(DUPLICATE_EMAIL_MESSAGE, e);
+            }
+            throw e;
+        } catch (OptimisticLockingFailureException e) {
+            throw new EmployeeVersionConflictException("Employee " + employee.getId() + " was modified concurrently", e);
+        }
+    }
+
+    private Employee saveAndRecord(Employee employee, EmployeeChange.Operation operation) {
+        return transactionTemplate.execute(status -> {
+            Employee saved = employeeRepository.saveAndFlush(employee);
+            recordChanges(operation, List.of(saved.getId()));
+            return saved;
+        });
+    }
+
+    // written at the end of each write transaction; see EmployeeChangeFeed for why the position matters
+    private void recordChanges(EmployeeChange.Operation operation, List<Long> ids) {
+        if (!ids.isEmpty()) {
+            changeRepository.appendChanges(operation.name(), ids, Instant.now());
+        }
+    }
+
+    // the outbox picks the deleted rows by deleted_at, so the instant is cut to what the column stores
+    private void softDeleteAndRecord(List<Long> ids) {
+        Instant deletedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        employeeRepository.softDeleteAllById(ids, deletedAt);
+        changeRepository.appendDeletes(ids, deletedAt, deletedAt);
+    }
+
+    private static List<Long> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).toList();
+    }
+
+    private static EmployeeView view(Employee employee) {
+        return new EmployeeView(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+                employee.getVersion());
+    }
+
+    private static String validate(Employee employee) {
+        if (employee.getFirstName() == null || employee.getLastName() == null || employee.getEmail() == null) {
+            return "firstName, lastName and email are required";
+        }
+        return null;
     }
 
 }
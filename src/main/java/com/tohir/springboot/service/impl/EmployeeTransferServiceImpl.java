@@ -0,0 +1,264 @@
+package com.tohir.springboot.service.impl;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PushbackReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tohir.springboot.dto.BulkOperationResult;
+import com.tohir.springboot.entity.Employee;
+import com.tohir.springboot.exception.InvalidImportException;
+import com.tohir.springboot.service.EmployeeService;
+import com.tohir.springboot.service.EmployeeTransferService;
+import com.tohir.springboot.utils.CsvUtils;
+
+@Service
+public class EmployeeTransferServiceImpl implements EmployeeTransferService {
+
+    // rows per round trip; the forward-only cursor never holds more than this in the driver
+    public static final int EXPORT_FETCH_SIZE = 1000;
+
+    public static final String CSV_HEADER = "id,first_name,last_name,email,version";
+
+    private static final String EXPORT_SQL = "select id, first_name, last_name, email, version from employees"
+            + " where deleted_at is null order by id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    // a transaction keeps auto-commit off, which drivers such as PostgreSQL need to honour the fetch size
+    @Override
+    @Transactional(readOnly = true)
+    public void exportNdjson(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            streamRows(rs -> {
+                generator.writeStartObject();
+                generator.writeNumberField("id", rs.getLong(1));
+                generator.writeStringField("firstName", rs.getString(2));
+                generator.writeStringField("lastName", rs.getString(3));
+                generator.writeStringField("email", rs.getString(4));
+                generator.writeNumberField("version", rs.getLong(5));
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportCsv(OutputStream outputStream) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+            streamRows(rs -> {
+                writer.write(Long.toString(rs.getLong(1)));
+                writer.write(',');
+                writer.write(CsvUtils.escape(rs.getString(2)));
+                writer.write(',');
+                writer.write(CsvUtils.escape(rs.getString(3)));
+                writer.write(',');
+                writer.write(CsvUtils.escape(rs.getString(4)));
+                writer.write(',');
+                writer.write(Long.toString(rs.getLong(5)));
+                writer.write("\r\n");
+            });
+        }
+    }
+
+    @Override
+    public BulkOperationResult importNdjson(InputStream inputStream) throws IOException {
+        try (MappingIterator<Employee> rows = objectMapper.readerFor(Employee.class).readValues(inputStream)) {
+            return employeeService.importEmployees(new NdjsonEmployeeIterator(rows));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public BulkOperationResult importCsv(InputStream inputStream) throws IOException {
+        PushbackReader reader = new PushbackReader(
+                new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)), 1);
+        try (reader) {
+            return employeeService.importEmployees(new CsvEmployeeIterator(reader));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void streamRows(RowWriter rowWriter) throws IOException {
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(EXPORT_FETCH_SIZE);
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    rowWriter.write(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+    }
+
+    /**
+     * Adapts a {@link MappingIterator} so a malformed line surfaces as a 400
+     * instead of the runtime wrapper Jackson throws from {@code hasNext}.
+     */
+    private static final class NdjsonEmployeeIterator implements Iterator<Employee> {
+
+        private final MappingIterator<Employee> rows;
+
+        NdjsonEmployeeIterator(MappingIterator<Employee> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                return rows.hasNextValue();
+            } catch (JsonProcessingException e) {
+                throw malformed(e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public Employee next() {
+            try {
+                return rows.nextValue();
+            } catch (JsonProcessingException e) {
+                throw malformed(e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private InvalidImportException malformed(JsonProcessingException e) {
+            return new InvalidImportException("Malformed NDJSON near line "
+                    + rows.getCurrentLocation().getLineNr() + ": " + e.getOriginalMessage(), e);
+        }
+
+    }
+
+    /**
+     * Parses one CSV record per {@link #next()}; columns are matched by the
+     * header, so {@code id} and {@code version} may be present or not.
+     */
+    private static final class CsvEmployeeIterator implements Iterator<Employee> {
+
+        private final PushbackReader reader;
+
+        private final int width;
+
+        private final int firstNameColumn;
+
+        private final int lastNameColumn;
+
+        private final int emailColumn;
+
+        // record number of next, counting the header as 1
+        private int line;
+
+        private List<String> next;
+
+        CsvEmployeeIterator(PushbackReader reader) {
+            this.reader = reader;
+            List<String> header = read();
+            if (header == null) {
+                throw new InvalidImportException("CSV import is empty");
+            }
+            this.width = header.size();
+            this.firstNameColumn = column(header, "first_name");
+            this.lastNameColumn = column(header, "last_name");
+            this.emailColumn = column(header, "email");
+            this.next = read();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Employee next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            List<String> record = next;
+            if (record.size() != width) {
+                throw new InvalidImportException(
+                        "CSV record " + line + " has " + record.size() + " fields, expected " + width);
+            }
+            next = read();
+            return Employee.builder().firstName(record.get(firstNameColumn)).lastName(record.get(lastNameColumn))
+                    .email(record.get(emailColumn)).build();
+        }
+
+        private List<String> read() {
+            try {
+                List<String> record;
+                do {
+                    record = CsvUtils.readRecord(reader);
+                    line++;
+                } while (record != null && record.size() == 1 && record.get(0).isEmpty());
+                return record;
+            } catch (CsvUtils.MalformedCsvException e) {
+                throw new InvalidImportException("CSV record " + (line + 1) + ": " + e.getMessage(), e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static int column(List<String> header, String name) {
+            int index = header.indexOf(name);
+            if (index < 0) {
+                throw new InvalidImportException("CSV header is missing the " + name + " column");
+            }
+            return index;
+        }
+
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.tohir.springboot.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.tohir.springboot.entity.Employee;
+import com.tohir.springboot.exception.EmployeeAlreadyExistsException;
+import com.tohir.springboot.repository.ReactiveEmployeeRepository;
+import com.tohir.springboot.service.ReactiveEmployeeService;
+import com.tohir.springboot.utils.ConstraintViolations;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    @Autowired
+    private ReactiveEmployeeRepository employeeRepository;
+
+    @Override
+    public Mono<Employee> saveEmployee(Employee employee) {
+        return employeeRepository.insert(employee).onErrorMap(DataIntegrityViolationException.class,
+                ReactiveEmployeeServiceImpl::toConflict);
+    }
+
+    @Override
+    public Flux<Employee> getAllEmployees() {
+        return employeeRepository.findAll();
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeById(Long id) {
+        return employeeRepository.findById(id);
+    }
+
+    @Override
+    public Mono<Employee> updateEmployee(Long id, Employee updatedEmployee) {
+        return employeeRepository.update(id, updatedEmployee).onErrorMap(DataIntegrityViolationException.class,
+                ReactiveEmployeeServiceImpl::toConflict);
+    }
+
+    @Override
+    public Mono<Void> deleteEmployee(Long id) {
+        return employeeRepository.deleteById(id).then();
+    }
+
+    private static Throwable toConflict(DataIntegrityViolationException e) {
+        if (ConstraintViolations.isDuplicateEmail(e)) {
+            return new EmployeeAlreadyExistsException("Employee with this mail already exists", e);
+        }
+        return e;
+    }
+
+}
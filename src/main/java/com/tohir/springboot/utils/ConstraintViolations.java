@@ -0,0 +1,30 @@
+package com.tohir.springboot.utils;
+
+import java.util.Locale;
+
+import com.tohir.springboot.entity.Employee;
+
+/**
+ * Recognises which database constraint a write tripped over, so that a
+ * failed insert can be reported as a conflict instead of a server error.
+ */
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    public static boolean isDuplicateEmail(Throwable exception) {
+        String constraint = Employee.EMAIL_UNIQUE_CONSTRAINT.toLowerCase(Locale.ROOT);
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && message.toLowerCase(Locale.ROOT).contains(constraint)) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+}
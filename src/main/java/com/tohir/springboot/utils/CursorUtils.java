@@ -0,0 +1,36 @@
+package com.tohir.springboot.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.tohir.springboot.exception.InvalidCursorException;
+
+/**
+ * Encodes and decodes the opaque continuation tokens used for keyset
+ * pagination. A token wraps the id of the last row of the previous page.
+ */
+public final class CursorUtils {
+
+    private static final String PREFIX = "id:";
+
+    private CursorUtils() {
+    }
+
+    public static String encode(Long lastId) {
+        String raw = PREFIX + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static long decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidCursorException("Invalid page cursor: " + cursor);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid page cursor: " + cursor, e);
+        }
+    }
+
+}
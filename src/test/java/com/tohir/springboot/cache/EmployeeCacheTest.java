@@ -0,0 +1,156 @@
+package com.tohir.springboot.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tohir.springboot.entity.Employee;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class EmployeeCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private EmployeeCache employeeCache;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setUp() {
+        employeeCache = new EmployeeCache(2, Duration.ofSeconds(10), clock::get);
+        employee = Employee.builder().id(1L).firstName("Tohir").lastName("Raihan")
+                .email("tohir.raihan@gmail.com")
+                .build();
+    }
+
+    @DisplayName("JUnit test for cache lookup by id and email")
+    @Test
+    public void givenCachedEmployee_whenGetByIdAndEmail_thenReturnCopies() {
+        // given - precondition or setup
+        employeeCache.put(employee);
+
+        // when - action or the behaviour that we are going to test
+        Employee byId = employeeCache.getById(1L);
+        Employee byEmail = employeeCache.getByEmail("tohir.raihan@gmail.com");
+
+        // then - verify the output
+        assertThat(byId.getEmail()).isEqualTo(employee.getEmail());
+        assertThat(byEmail.getId()).isEqualTo(1L);
+        assertThat(byId).isNotSameAs(employee);
+        assertThat(employeeCache.getHitCount()).isEqualTo(2);
+    }
+
+    @DisplayName("JUnit test for least-recently-used eviction")
+    @Test
+    public void givenFullCache_whenPut_thenEvictLeastRecentlyUsed() {
+        // given - precondition or setup
+        Employee employee2 = Employee.builder().id(2L).firstName("Jack").lastName("Harpoor")
+                .email("jack@gmail.com").build();
+        Employee employee3 = Employee.builder().id(3L).firstName("Test").lastName("Name")
+                .email("test.name@gmail.com").build();
+        employeeCache.put(employee);
+        employeeCache.put(employee2);
+        employeeCache.getById(1L);
+
+        // when - action or the behaviour that we are going to test
+        employeeCache.put(employee3);
+
+        // then - verify the output
+        assertThat(employeeCache.getById(2L)).isNull();
+        assertThat(employeeCache.getByEmail("jack@gmail.com")).isNull();
+        assertThat(employeeCache.getById(1L)).isNotNull();
+        assertThat(employeeCache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for time-to-live expiry")
+    @Test
+    public void givenExpiredEntry_whenGetById_thenMiss() {
+        // given - precondition or setup
+        employeeCache.put(employee);
+
+        // when - action or the behaviour that we are going to test
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+        Employee cached = employeeCache.getById(1L);
+
+        // then - verify the output
+        assertThat(cached).isNull();
+        assertThat(employeeCache.size()).isZero();
+        assertThat(employeeCache.getMissCount()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for explicit invalidation")
+    @Test
+    public void givenCachedEmployee_whenEvict_thenRemoveIdAndEmailEntries() {
+        // given - precondition or setup
+        employeeCache.put(employee);
+
+        // when - action or the behaviour that we are going to test
+        employeeCache.evict(1L);
+
+        // then - verify the output
+        assertThat(employeeCache.getById(1L)).isNull();
+        assertThat(employeeCache.getByEmail(employee.getEmail())).isNull();
+    }
+
+    @DisplayName("JUnit test for a load that read the row before an eviction")
+    @Test
+    public void givenEvictAfterStamp_whenPut_thenDoNotCacheStaleCopy() {
+        // given - precondition or setup
+        long stamp = employeeCache.stamp();
+        employeeCache.evict(1L);
+
+        // when - action or the behaviour that we are going to test
+        employeeCache.put(employee, stamp);
+
+        // then - verify the output
+        assertThat(employeeCache.getById(1L)).isNull();
+        employeeCache.put(employee, employeeCache.stamp());
+        assertThat(employeeCache.getById(1L)).isNotNull();
+    }
+
+    @DisplayName("JUnit test for a put carrying an older version than the cached one")
+    @Test
+    public void givenNewerVersionCached_whenPutOlderVersion_thenKeepNewerVersion() {
+        // given - precondition or setup
+        employee.setVersion(2L);
+        employeeCache.put(employee);
+        Employee older = Employee.builder().id(1L).firstName("Old").lastName("Raihan")
+                .email("tohir.raihan@gmail.com").version(1L).build();
+
+        // when - action or the behaviour that we are going to test
+        employeeCache.put(older);
+
+        // then - verify the output
+        assertThat(employeeCache.getById(1L).getVersion()).isEqualTo(2L);
+        assertThat(employeeCache.getById(1L).getFirstName()).isEqualTo("Tohir");
+    }
+
+    @DisplayName("JUnit test for cache meters")
+    @Test
+    public void givenHitAndMiss_whenBindMetrics_thenPublishCounters() {
+        // given - precondition or setup
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        EmployeeCacheMetrics metrics = new EmployeeCacheMetrics();
+        ReflectionTestUtils.setField(metrics, "employeeCache", employeeCache);
+        metrics.bindTo(registry);
+        employeeCache.put(employee);
+
+        // when - action or the behaviour that we are going to test
+        employeeCache.getById(1L);
+        employeeCache.getById(2L);
+
+        // then - verify the output
+        assertThat(registry.get("employee.cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("employee.cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("employee.cache.size").gauge().value()).isEqualTo(1);
+    }
+
+}
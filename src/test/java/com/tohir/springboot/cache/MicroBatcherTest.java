@@ -0,0 +1,92 @@
+package com.tohir.springboot.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class MicroBatcherTest {
+
+    private final List<Set<Long>> batches = new CopyOnWriteArrayList<>();
+
+    private final Function<Set<Long>, Map<Long, String>> loader = ids -> {
+        batches.add(Set.copyOf(ids));
+        return ids.stream().filter(id -> id != 404L).collect(Collectors.toMap(Function.identity(), id -> "employee-" + id));
+    };
+
+    @DisplayName("JUnit test for lookups within the window resolved by one batch load")
+    @Test
+    public void givenLookupsWithinWindow_whenLoad_thenResolveWithOneBatch() throws Exception {
+        // given - precondition or setup
+        try (MicroBatcher<Long, String> batcher = new MicroBatcher<>("test-batcher", Duration.ofMillis(50), 100,
+                loader)) {
+
+            // when - action or the behaviour that we are going to test
+            CompletableFuture<String> first = batcher.load(1L);
+            CompletableFuture<String> second = batcher.load(2L);
+            CompletableFuture<String> duplicate = batcher.load(1L);
+            CompletableFuture<String> unknown = batcher.load(404L);
+
+            // then - verify the output
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("employee-1");
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("employee-2");
+            assertThat(duplicate).isSameAs(first);
+            assertThat(unknown.get(5, TimeUnit.SECONDS)).isNull();
+            assertThat(batches).containsExactly(Set.of(1L, 2L, 404L));
+            assertThat(batcher.getKeyCount()).isEqualTo(3);
+        }
+    }
+
+    @DisplayName("JUnit test for a full batch dispatched before its window ends")
+    @Test
+    public void givenBatchCapReached_whenLoad_thenDispatchWithoutWaitingForWindow() throws Exception {
+        // given - precondition or setup
+        try (MicroBatcher<Long, String> batcher = new MicroBatcher<>("test-batcher", Duration.ofMinutes(1), 2,
+                loader)) {
+
+            // when - action or the behaviour that we are going to test
+            CompletableFuture<String> first = batcher.load(1L);
+            CompletableFuture<String> second = batcher.load(2L);
+            CompletableFuture<String> third = batcher.load(3L);
+
+            // then - verify the output
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("employee-1");
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("employee-2");
+            assertThat(third).isNotDone();
+            assertThat(batches).containsExactly(Set.of(1L, 2L));
+        }
+    }
+
+    @DisplayName("JUnit test for a failed batch load failing every key of the batch")
+    @Test
+    public void givenFailingLoader_whenLoad_thenEveryKeyFails() {
+        // given - precondition or setup
+        try (MicroBatcher<Long, String> batcher = new MicroBatcher<>("test-batcher", Duration.ofMillis(1), 100,
+                ids -> {
+                    throw new IllegalStateException("database unavailable");
+                })) {
+
+            // when - action or the behaviour that we are going to test
+            CompletableFuture<String> first = batcher.load(1L);
+            CompletableFuture<String> second = batcher.load(2L);
+
+            // then - verify the output
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+            assertThat(failure.getCause()).isInstanceOf(IllegalStateException.class);
+            assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+}
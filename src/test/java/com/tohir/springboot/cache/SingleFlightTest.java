@@ -0,0 +1,143 @@
+package com.tohir.springboot.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SingleFlightTest {
+
+    private static final int CALLERS = 32;
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+
+    @DisplayName("JUnit test for concurrent calls with the same key sharing one load")
+    @Test
+    public void givenConcurrentCallsForSameKey_whenExecute_thenLoadOnceAndShareResult() throws Exception {
+        // given - precondition or setup
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        // when - action or the behaviour that we are going to test
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "employee-1";
+                }, value -> value + "-copy")));
+            }
+            // hold the load until every other caller has joined it
+            awaitShared(CALLERS - 1);
+            release.countDown();
+
+            // then - verify the output
+            List<String> values = new ArrayList<>();
+            for (Future<String> result : results) {
+                values.add(result.get(10, TimeUnit.SECONDS));
+            }
+            assertThat(loads).hasValue(1);
+            assertThat(values).containsOnlyOnce("employee-1");
+            assertThat(values).filteredOn("employee-1-copy"::equals).hasSize(CALLERS - 1);
+        }
+        assertThat(singleFlight.getExecutedCount()).isEqualTo(1);
+        assertThat(singleFlight.getInFlightCount()).isZero();
+    }
+
+    @DisplayName("JUnit test for a failed load rethrown to every waiting caller")
+    @Test
+    public void givenFailingLoad_whenExecuteConcurrently_thenEveryCallerSeesTheFailure() throws Exception {
+        // given - precondition or setup
+        CountDownLatch release = new CountDownLatch(1);
+
+        // when - action or the behaviour that we are going to test
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+                await(release);
+                throw new IllegalStateException("database unavailable");
+            }));
+            awaitInFlight();
+            Future<String> follower = executor.submit(() -> singleFlight.execute(1L, () -> "never loaded"));
+            awaitShared(1);
+            release.countDown();
+
+            // then - verify the output
+            ExecutionException leaderFailure = assertThrows(ExecutionException.class, leader::get);
+            ExecutionException followerFailure = assertThrows(ExecutionException.class, follower::get);
+            assertThat(leaderFailure.getCause()).isInstanceOf(IllegalStateException.class);
+            assertThat(followerFailure.getCause()).isSameAs(leaderFailure.getCause());
+        }
+        // nothing is remembered: the next call loads again
+        assertThat(singleFlight.execute(1L, () -> "loaded again")).isEqualTo("loaded again");
+    }
+
+    @DisplayName("JUnit test for a caller arriving after forget starting its own load")
+    @Test
+    public void givenForgottenFlight_whenExecute_thenStartNewLoadAndLeaveWaitersOnOldOne() throws Exception {
+        // given - precondition or setup
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "before write";
+            }));
+            awaitInFlight();
+            Future<String> follower = executor.submit(() -> singleFlight.execute(1L, () -> "never loaded"));
+            awaitShared(1);
+
+            // when - action or the behaviour that we are going to test
+            singleFlight.forget(1L);
+            String afterWrite = singleFlight.execute(1L, () -> {
+                loads.incrementAndGet();
+                return "after write";
+            });
+            release.countDown();
+
+            // then - verify the output
+            assertThat(afterWrite).isEqualTo("after write");
+            assertThat(leader.get(10, TimeUnit.SECONDS)).isEqualTo("before write");
+            assertThat(follower.get(10, TimeUnit.SECONDS)).isEqualTo("before write");
+            assertThat(loads).hasValue(2);
+        }
+        assertThat(singleFlight.getInFlightCount()).isZero();
+    }
+
+    private void awaitShared(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (singleFlight.getSharedCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(singleFlight.getSharedCount()).isEqualTo(count);
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (singleFlight.getInFlightCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -1,7 +1,9 @@
 package com.tohir.springboot.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -11,21 +13,38 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.tohir.springboot.config.BinaryFormatConfig;
+import com.tohir.springboot.dto.BulkOperationResult;
+import com.tohir.springboot.dto.EmployeePage;
+import com.tohir.springboot.dto.EmployeePatch;
+import com.tohir.springboot.dto.EmployeeTableVersion;
+import com.tohir.springboot.dto.EmployeeVersion;
+import com.tohir.springboot.dto.EmployeeView;
 import com.tohir.springboot.entity.Employee;
+import com.tohir.springboot.exception.EmployeeAlreadyExistsException;
+import com.tohir.springboot.outbox.EmployeeChangeFeed;
 import com.tohir.springboot.service.EmployeeService;
+import com.tohir.springboot.service.EmployeeTransferService;
 
 @WebMvcTest
+@Import(BinaryFormatConfig.class)
 public class EmployeeControllerTest {
 
     @Autowired
@@ -34,6 +53,12 @@ public class EmployeeControllerTest {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeTransferService employeeTransferService;
+
+    @MockBean
+    private EmployeeChangeFeed changeFeed;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -61,15 +86,83 @@ public class EmployeeControllerTest {
 
     }
 
+    @DisplayName("JUnit test for create employee REST API with duplicate email")
+    @Test
+    public void givenExistingEmail_whenCreateEmployee_thenReturn409() throws Exception {
+        // given - precondition or setup
+        Employee employee = Employee.builder().firstName("Tohir").lastName("Raihan")
+                .email("tohir.raihan@gmail.com")
+                .build();
+        BDDMockito.given(employeeService.saveEmployee(ArgumentMatchers.any(Employee.class)))
+                .willThrow(new EmployeeAlreadyExistsException("Employee with this mail already exists"));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc
+                .perform(MockMvcRequestBuilders.post("/api/employees").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employee)));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isConflict());
+    }
+
+    @DisplayName("JUnit test for bulk create employees REST API")
+    @Test
+    public void givenListOfEmployees_whenCreateEmployees_thenReturnBulkResult() throws Exception {
+        // given - precondition or setup
+        List<Employee> employees = List.of(
+                Employee.builder().firstName("Tohir").lastName("Raihan").email("tohir.raihan@gmail.com").build(),
+                Employee.builder().firstName("Jack").lastName("Harpoor").email("jack@gmail.com").build());
+        BulkOperationResult result = new BulkOperationResult(2);
+        result.addSucceeded(1);
+        result.addFailure(1, null, "jack@gmail.com", "Employee with this mail already exists");
+
+        BDDMockito.given(employeeService.saveEmployees(ArgumentMatchers.anyList())).willReturn(result);
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employees)));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.succeeded", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failures[0].index", CoreMatchers.is(1)));
+    }
+
+    @DisplayName("JUnit test for CSV import REST API")
+    @Test
+    public void givenCsvBody_whenImportEmployees_thenReturnBulkResult() throws Exception {
+        // given - precondition or setup
+        BulkOperationResult result = new BulkOperationResult(1);
+        result.addSucceeded(1);
+
+        BDDMockito.given(employeeTransferService.importCsv(ArgumentMatchers.any())).willReturn(result);
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/import")
+                .contentType("text/csv")
+                .content("first_name,last_name,email\r\nTohir,Raihan,tohir.raihan@gmail.com\r\n"));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.succeeded", CoreMatchers.is(1)));
+        BDDMockito.then(employeeService).shouldHaveNoInteractions();
+    }
+
     @DisplayName("JUnit test for Get All employees REST API")
     @Test
     public void givenListOfEmployees_whenGetAllEmployees_thenReturnEmployeesList() throws Exception {
         // given - precondition or setup
-        List<Employee> employees = new ArrayList<>();
-        employees.add(Employee.builder().firstName("Tohir").lastName("Raihan").email("tohir.raihan@gmail.com").build());
-        employees.add(Employee.builder().id(2L).firstName("Jack").lastName("Harpoor").email("jack@gmail.com").build());
+        List<EmployeeView> employees = new ArrayList<>();
+        employees.add(new EmployeeView(1L, "Tohir", "Raihan", "tohir.raihan@gmail.com", 0L));
+        employees.add(new EmployeeView(2L, "Jack", "Harpoor", "jack@gmail.com", 0L));
 
-        BDDMockito.given(employeeService.getAllEmployees()).willReturn(employees);
+        BDDMockito.given(employeeService.getEmployeesVersion())
+                .willReturn(new EmployeeTableVersion(2L, 0L, Instant.parse("2026-01-01T00:00:00Z")));
+        BDDMockito.given(employeeService.getAllEmployees()).willReturn(new EmployeePage(employees, null));
 
         // when - action or the behaviour that we are going to test
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees"));
@@ -78,8 +171,74 @@ public class EmployeeControllerTest {
         response.andDo(MockMvcResultHandlers.print())
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.size()",
-                        CoreMatchers.is(employees.size())));
+                        CoreMatchers.is(employees.size())))
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.LINK));
+    }
 
+    @DisplayName("JUnit test for Get All employees REST API over a table larger than one page")
+    @Test
+    public void givenMoreEmployeesThanOnePage_whenGetAllEmployees_thenReturnFirstPageAndNextLink() throws Exception {
+        // given - precondition or setup
+        List<EmployeeView> employees = List.of(new EmployeeView(1L, "Tohir", "Raihan", "tohir.raihan@gmail.com", 0L));
+
+        BDDMockito.given(employeeService.getEmployeesVersion())
+                .willReturn(new EmployeeTableVersion(2L, 0L, Instant.parse("2026-01-01T00:00:00Z")));
+        BDDMockito.given(employeeService.getAllEmployees()).willReturn(new EmployeePage(employees, "abc"));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees"));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.LINK,
+                        "</api/employees/page?cursor=abc&size=1>; rel=\"next\""));
+
+    }
+
+    @DisplayName("JUnit test for Get employees page REST API")
+    @Test
+    public void givenCursor_whenGetEmployeesPage_thenReturnPageAndNextCursor() throws Exception {
+        // given - precondition or setup
+        List<EmployeeView> employees = List.of(new EmployeeView(2L, "Jack", "Harpoor", "jack@gmail.com", 0L));
+
+        BDDMockito.given(employeeService.getEmployeesPage("abc", 1)).willReturn(new EmployeePage(employees, "def"));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/page")
+                .param("cursor", "abc").param("size", "1"));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", CoreMatchers.is("def")));
+    }
+
+    @DisplayName("JUnit test for stream all employees REST API")
+    @Test
+    public void givenPagedEmployees_whenStreamAllEmployees_thenReturnAllPagesAsOneArray() throws Exception {
+        // given - precondition or setup
+        EmployeeView employee1 = new EmployeeView(1L, "Tohir", "Raihan", "tohir.raihan@gmail.com", 0L);
+        EmployeeView employee2 = new EmployeeView(2L, "Jack", "Harpoor", "jack@gmail.com", 0L);
+
+        BDDMockito.given(employeeService.getEmployeesPage(ArgumentMatchers.isNull(), ArgumentMatchers.anyInt()))
+                .willReturn(new EmployeePage(List.of(employee1), "next"));
+        BDDMockito.given(employeeService.getEmployeesPage(ArgumentMatchers.eq("next"), ArgumentMatchers.anyInt()))
+                .willReturn(new EmployeePage(List.of(employee2), null));
+
+        // when - action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/stream"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].email", CoreMatchers.is(employee2.getEmail())));
     }
 
     // Positive Senario - valid employee id
@@ -107,6 +266,129 @@ public class EmployeeControllerTest {
                         CoreMatchers.is(employee.getEmail())));
     }
 
+    @DisplayName("JUnit test for multi-get employees REST API")
+    @Test
+    public void givenIds_whenGetEmployeesByIds_thenReturnFoundEmployees() throws Exception {
+        // given - precondition or setup
+        Employee employee = Employee.builder().id(2L).firstName("Jack").lastName("Harpoor").email("jack@gmail.com")
+                .build();
+        BDDMockito.given(employeeService.getEmployeesByIds(List.of(2L, 404L))).willReturn(List.of(employee));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").param("ids", "2,404"));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].email", CoreMatchers.is(employee.getEmail())));
+    }
+
+    @DisplayName("JUnit test for GET employee by id REST API as CBOR")
+    @Test
+    public void givenCborAccept_whenGetEmployeeById_thenReturnCborEncodedEmployee() throws Exception {
+        // given - precondition or setup
+        long employeeId = 1L;
+        Employee employee = Employee.builder().id(employeeId).firstName("Tohir").lastName("Raihan")
+                .email("tohir.raihan@gmail.com").build();
+        BDDMockito.given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
+
+        // when - action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}", employeeId)
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        // then - verify the output
+        Employee decoded = new CBORMapper().readValue(result.getResponse().getContentAsByteArray(), Employee.class);
+        assertThat(decoded.getEmail()).isEqualTo(employee.getEmail());
+    }
+
+    @DisplayName("JUnit test for bulk create employees REST API with a Smile body")
+    @Test
+    public void givenSmileBody_whenCreateEmployees_thenDecodeEmployees() throws Exception {
+        // given - precondition or setup
+        List<Employee> employees = List.of(Employee.builder().firstName("Tohir").lastName("Raihan")
+                .email("tohir.raihan@gmail.com").build());
+        BDDMockito.given(employeeService.saveEmployees(ArgumentMatchers.anyList())).willAnswer(invocation -> {
+            List<Employee> saved = invocation.getArgument(0);
+            BulkOperationResult result = new BulkOperationResult(saved.size());
+            result.addSucceeded(saved.size());
+            return result;
+        });
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/bulk")
+                .contentType("application/x-jackson-smile")
+                .content(new SmileMapper().writeValueAsBytes(employees)));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.succeeded", CoreMatchers.is(1)));
+        BDDMockito.then(employeeService).should().saveEmployees(ArgumentMatchers.argThat(
+                saved -> saved.size() == 1 && "tohir.raihan@gmail.com".equals(saved.get(0).getEmail())));
+    }
+
+    @DisplayName("JUnit test for conditional GET employee by id REST API")
+    @Test
+    public void givenMatchingETag_whenGetEmployeeById_thenReturnNotModifiedWithoutLoading() throws Exception {
+        // given - precondition or setup
+        long employeeId = 1L;
+        EmployeeVersion version = new EmployeeVersion(3L, Instant.parse("2026-01-01T00:00:00Z"));
+        BDDMockito.given(employeeService.getEmployeeVersion(employeeId)).willReturn(Optional.of(version));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}", employeeId)
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"3\""));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "W/\"3\""));
+        BDDMockito.then(employeeService).should(Mockito.never()).getEmployeeById(employeeId);
+    }
+
+    @DisplayName("JUnit test for conditional GET employee by id REST API (changed)")
+    @Test
+    public void givenStaleETag_whenGetEmployeeById_thenReturnEmployeeWithNewETag() throws Exception {
+        // given - precondition or setup
+        long employeeId = 1L;
+        Employee employee = Employee.builder().id(employeeId).firstName("Tohir").lastName("Raihan")
+                .email("tohir.raihan@gmail.com").version(4L).updatedAt(Instant.parse("2026-01-02T00:00:00Z"))
+                .build();
+        BDDMockito.given(employeeService.getEmployeeVersion(employeeId))
+                .willReturn(Optional.of(new EmployeeVersion(employee.getVersion(), employee.getUpdatedAt())));
+        BDDMockito.given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}", employeeId)
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"3\""));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "W/\"4\""))
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is(employee.getEmail())));
+    }
+
+    @DisplayName("JUnit test for conditional Get All employees REST API")
+    @Test
+    public void givenMatchingCollectionETag_whenGetAllEmployees_thenReturnNotModified() throws Exception {
+        // given - precondition or setup
+        EmployeeTableVersion version = new EmployeeTableVersion(2L, 5L, Instant.parse("2026-01-01T00:00:00Z"));
+        BDDMockito.given(employeeService.getEmployeesVersion()).willReturn(version);
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees")
+                .header(HttpHeaders.IF_NONE_MATCH, version.getETag()));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+        BDDMockito.then(employeeService).should(Mockito.never()).getAllEmployees();
+    }
+
     // Negative Senario - invalid employee id
     @DisplayName("JUnit test for GET employee by id REST API")
     @Test
@@ -179,6 +461,27 @@ public class EmployeeControllerTest {
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @DisplayName("JUnit test for patch employee REST API")
+    @Test
+    public void givenPatch_whenPatchEmployee_thenReturn204() throws Exception {
+        // given - precondition or setup
+        long employeeId = 1L;
+        EmployeePatch patch = new EmployeePatch(null, null, "jack@gmail.com", 0L);
+        BDDMockito.willDoNothing().given(employeeService).patchEmployee(ArgumentMatchers.eq(employeeId),
+                ArgumentMatchers.any(EmployeePatch.class));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.patch("/api/employees/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patch)));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isNoContent())
+                .andDo(MockMvcResultHandlers.print());
+        BDDMockito.then(employeeService).should().patchEmployee(ArgumentMatchers.eq(employeeId),
+                ArgumentMatchers.argThat(body -> "jack@gmail.com".equals(body.getEmail())));
+    }
+
     @DisplayName("JUnit test for delete employee REST API")
     @Test
     public void givenEmployeeId_whenDeleteEmployee_thenReturn200() throws Exception {
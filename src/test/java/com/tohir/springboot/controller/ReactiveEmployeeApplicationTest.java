@@ -0,0 +1,56 @@
+package com.tohir.springboot.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.tohir.springboot.entity.Employee;
+import com.tohir.springboot.repository.EmployeeRepository;
+
+// boots the whole application under the reactive profile: R2DBC serves the requests, JPA owns the schema
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeApplicationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @DisplayName("Integration test for the reactive profile serving create, get and delete end to end")
+    @Test
+    public void givenReactiveProfile_whenCreateGetDelete_thenServedOverR2dbc() {
+        // given - precondition or setup
+        Employee employee = Employee.builder().firstName("Tohir").lastName("Raihan")
+                .email("tohir.raihan@gmail.com")
+                .build();
+
+        // when - action or the behaviour that we are going to test
+        Employee created = webTestClient.post().uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(employee).exchange()
+                .expectStatus().isCreated()
+                .expectBody(Employee.class).returnResult().getResponseBody();
+
+        // then - verify the output
+        assertThat(created).isNotNull();
+        webTestClient.get().uri("/api/employees/{id}", created.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo(employee.getEmail());
+        assertThat(employeeRepository.findById(created.getId())).isPresent();
+
+        webTestClient.delete().uri("/api/employees/{id}", created.getId()).exchange()
+                .expectStatus().isOk();
+        webTestClient.get().uri("/api/employees/{id}", created.getId()).exchange()
+                .expectStatus().isNotFound();
+        assertThat(employeeRepository.findById(created.getId())).isEmpty();
+    }
+
+}
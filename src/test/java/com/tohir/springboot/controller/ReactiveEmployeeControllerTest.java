@@ -0,0 +1,102 @@
+package com.tohir.springboot.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.tohir.springboot.entity.Employee;
+import com.tohir.springboot.exception.EmployeeAlreadyExistsException;
+import com.tohir.springboot.service.ReactiveEmployeeService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@WebFluxTest(controllers = ReactiveEmployeeController.class)
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveEmployeeService employeeService;
+
+    @DisplayName("JUnit test for reactive create employee REST API")
+    @Test
+    public void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee() {
+        // given - precondition or setup
+        Employee employee = Employee.builder().id(1L).firstName("Tohir").lastName("Raihan")
+                .email("tohir.raihan@gmail.com")
+                .build();
+        BDDMockito.given(employeeService.saveEmployee(ArgumentMatchers.any(Employee.class)))
+                .willReturn(Mono.just(employee));
+
+        // when - action or the behaviour that we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(employee).exchange();
+
+        // then - verify the output
+        response.expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo(employee.getEmail());
+    }
+
+    @DisplayName("JUnit test for reactive create employee REST API with duplicate email")
+    @Test
+    public void givenExistingEmail_whenCreateEmployee_thenReturn409() {
+        // given - precondition or setup
+        Employee employee = Employee.builder().firstName("Tohir").lastName("Raihan")
+                .email("tohir.raihan@gmail.com")
+                .build();
+        BDDMockito.given(employeeService.saveEmployee(ArgumentMatchers.any(Employee.class)))
+                .willReturn(Mono.error(new EmployeeAlreadyExistsException("Employee with this mail already exists")));
+
+        // when - action or the behaviour that we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(employee).exchange();
+
+        // then - verify the output
+        response.expectStatus().isEqualTo(409);
+    }
+
+    @DisplayName("JUnit test for reactive Get All employees REST API as NDJSON stream")
+    @Test
+    public void givenEmployees_whenGetAllEmployeesAsNdjson_thenStreamEachEmployee() {
+        // given - precondition or setup
+        Employee employee1 = Employee.builder().id(1L).firstName("Tohir").lastName("Raihan")
+                .email("tohir.raihan@gmail.com").build();
+        Employee employee2 = Employee.builder().id(2L).firstName("Jack").lastName("Harpoor")
+                .email("jack@gmail.com").build();
+        BDDMockito.given(employeeService.getAllEmployees()).willReturn(Flux.just(employee1, employee2));
+
+        // when - action or the behaviour that we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_NDJSON).exchange();
+
+        // then - verify the output
+        response.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Employee.class).hasSize(2);
+    }
+
+    @DisplayName("JUnit test for reactive GET employee by id REST API")
+    @Test
+    public void givenInvalidEmployeeId_whenGetEmployeeById_thenReturn404() {
+        // given - precondition or setup
+        BDDMockito.given(employeeService.getEmployeeById(1L)).willReturn(Mono.empty());
+
+        // when - action or the behaviour that we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/{id}", 1L).exchange();
+
+        // then - verify the output
+        response.expectStatus().isNotFound();
+    }
+
+}
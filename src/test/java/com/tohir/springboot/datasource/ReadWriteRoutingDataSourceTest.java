@@ -0,0 +1,107 @@
+package com.tohir.springboot.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class ReadWriteRoutingDataSourceTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    public void setUp() {
+        // two separate H2 databases stand in for the primary and the replica
+        DriverManagerDataSource primary = node("primary");
+        DriverManagerDataSource replica = node("replica");
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, Duration.ofSeconds(2), clock::get));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @DisplayName("JUnit test for read-only transactions routed to the replica")
+    @Test
+    public void givenReadOnlyTransaction_whenQuery_thenUseReplica() {
+        // given - precondition or setup
+        // when - action or the behaviour that we are going to test
+        String node = readOnly.execute(status -> currentNode());
+
+        // then - verify the output
+        assertThat(node).isEqualTo("replica");
+    }
+
+    @DisplayName("JUnit test for read-write transactions routed to the primary")
+    @Test
+    public void givenReadWriteTransaction_whenQuery_thenUsePrimary() {
+        // given - precondition or setup
+        // when - action or the behaviour that we are going to test
+        String node = readWrite.execute(status -> currentNode());
+
+        // then - verify the output
+        assertThat(node).isEqualTo("primary");
+    }
+
+    @DisplayName("JUnit test for reads sticking to the primary right after a write")
+    @Test
+    public void givenRecentWrite_whenReadOnlyQuery_thenStickToPrimaryUntilWindowPasses() {
+        // given - precondition or setup
+        readWrite.execute(status -> currentNode());
+
+        // when - action or the behaviour that we are going to test
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        String insideWindow = readOnly.execute(status -> currentNode());
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        String afterWindow = readOnly.execute(status -> currentNode());
+
+        // then - verify the output
+        assertThat(insideWindow).isEqualTo("primary");
+        assertThat(afterWindow).isEqualTo("replica");
+    }
+
+    @DisplayName("JUnit test for access outside a transaction routed to the primary")
+    @Test
+    public void givenNoTransaction_whenQuery_thenUsePrimary() {
+        // given - precondition or setup
+        // when - action or the behaviour that we are going to test
+        String node = currentNode();
+
+        // then - verify the output
+        assertThat(node).isEqualTo("primary");
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static DriverManagerDataSource node(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists node (name varchar(16))");
+        jdbcTemplate.execute("delete from node");
+        jdbcTemplate.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+
+}
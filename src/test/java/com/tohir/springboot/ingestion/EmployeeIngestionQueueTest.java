@@ -0,0 +1,127 @@
+package com.tohir.springboot.ingestion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tohir.springboot.dto.BulkOperationResult;
+import com.tohir.springboot.dto.IngestionStatus;
+import com.tohir.springboot.entity.Employee;
+import com.tohir.springboot.service.EmployeeService;
+
+public class EmployeeIngestionQueueTest {
+
+    private EmployeeService employeeService;
+
+    private EmployeeIngestionQueue ingestionQueue;
+
+    @BeforeEach
+    public void setUp() {
+        employeeService = mock(EmployeeService.class);
+        // the worker thread is not started; tests drive flush directly
+        ingestionQueue = new EmployeeIngestionQueue(employeeService, 3, 2, Duration.ZERO, Duration.ofMinutes(10));
+    }
+
+    @DisplayName("JUnit test for queued creates saved in batches of flush size")
+    @Test
+    public void givenQueuedCreates_whenFlush_thenSaveInBatchesAndTrackStatus() throws InterruptedException {
+        // given - precondition or setup
+        given(employeeService.saveEmployees(anyList())).willAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            BulkOperationResult result = new BulkOperationResult(employees.size());
+            employees.get(0).setId(10L);
+            result.addSucceeded(1);
+            if (employees.size() > 1) {
+                result.addFailure(1, null, employees.get(1).getEmail(), "Employee with this mail already exists");
+            }
+            return result;
+        });
+        String saved = ingestionQueue.submit(employee("tohir.raihan@gmail.com"));
+        String duplicate = ingestionQueue.submit(employee("tohir.raihan@gmail.com"));
+        String last = ingestionQueue.submit(employee("jack@gmail.com"));
+
+        // when - action or the behaviour that we are going to test
+        int first = ingestionQueue.flush(0);
+        int second = ingestionQueue.flush(0);
+
+        // then - verify the output
+        assertThat(first).isEqualTo(2);
+        assertThat(second).isEqualTo(1);
+        verify(employeeService, times(2)).saveEmployees(anyList());
+        assertThat(ingestionQueue.getStatus(saved).getState()).isEqualTo(IngestionStatus.State.SAVED);
+        assertThat(ingestionQueue.getStatus(saved).getEmployeeId()).isEqualTo(10L);
+        assertThat(ingestionQueue.getStatus(duplicate).getState()).isEqualTo(IngestionStatus.State.FAILED);
+        assertThat(ingestionQueue.getStatus(last).getState()).isEqualTo(IngestionStatus.State.SAVED);
+    }
+
+    @DisplayName("JUnit test for submit rejected when the queue is full")
+    @Test
+    public void givenFullQueue_whenSubmit_thenRejectWithoutTracking() {
+        // given - precondition or setup
+        for (int i = 0; i < 3; i++) {
+            assertThat(ingestionQueue.submit(employee("employee" + i + "@example.com"))).isNotNull();
+        }
+
+        // when - action or the behaviour that we are going to test
+        String trackingId = ingestionQueue.submit(employee("jack@gmail.com"));
+
+        // then - verify the output
+        assertThat(trackingId).isNull();
+        assertThat(ingestionQueue.getQueueSize()).isEqualTo(3);
+        verify(employeeService, never()).saveEmployees(anyList());
+    }
+
+    @DisplayName("JUnit test for a pending create before the flush")
+    @Test
+    public void givenSubmittedCreate_whenGetStatusBeforeFlush_thenPending() {
+        // given - precondition or setup
+        String trackingId = ingestionQueue.submit(employee("jack@gmail.com"));
+
+        // when - action or the behaviour that we are going to test
+        IngestionStatus status = ingestionQueue.getStatus(trackingId);
+
+        // then - verify the output
+        assertThat(status.getState()).isEqualTo(IngestionStatus.State.PENDING);
+        assertThat(status.getEmployeeId()).isNull();
+    }
+
+    @DisplayName("JUnit test for finished statuses dropped once older than the status ttl")
+    @Test
+    public void givenSavedCreate_whenStatusTtlPassed_thenStatusExpired() throws InterruptedException {
+        // given - precondition or setup
+        EmployeeIngestionQueue expiringQueue = new EmployeeIngestionQueue(employeeService, 3, 2, Duration.ZERO,
+                Duration.ofMillis(50));
+        given(employeeService.saveEmployees(anyList())).willAnswer(invocation -> {
+            BulkOperationResult result = new BulkOperationResult(1);
+            result.addSucceeded(1);
+            return result;
+        });
+        String saved = expiringQueue.submit(employee("tohir.raihan@gmail.com"));
+        expiringQueue.flush(0);
+        IngestionStatus beforeExpiry = expiringQueue.getStatus(saved);
+
+        // when - action or the behaviour that we are going to test
+        Thread.sleep(60);
+        expiringQueue.flush(0);
+
+        // then - verify the output
+        assertThat(beforeExpiry.getState()).isEqualTo(IngestionStatus.State.SAVED);
+        assertThat(expiringQueue.getStatus(saved)).isNull();
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder().firstName("Tohir").lastName("Raihan").email(email).build();
+    }
+
+}
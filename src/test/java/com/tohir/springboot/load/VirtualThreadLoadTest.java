@@ -0,0 +1,156 @@
+package com.tohir.springboot.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.hibernate.SessionEventListener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.tohir.springboot.SpringBootTestingApplication;
+import com.tohir.springboot.dto.EmployeeView;
+import com.tohir.springboot.entity.Employee;
+import com.tohir.springboot.service.EmployeeService;
+
+/**
+ * Fires a burst of concurrent reads at the real employee endpoints, alternating
+ * {@code GET /api/employees/{id}} and {@code GET /api/employees/page}, with the
+ * cache off so every request runs one query. Each JDBC statement is held for
+ * {@code DATABASE_LATENCY} with its connection checked out, standing in for
+ * the round trip to a remote database.
+ * <ul>
+ * <li>Platform threads, 10 Tomcat threads and a pool of 200: the thread pool
+ * caps the run near 10 / latency.</li>
+ * <li>Virtual threads and a pool of 200: must at least double that.</li>
+ * <li>Virtual threads and a pool of 10: the pool becomes the limit and the
+ * run cannot beat 10 / latency.</li>
+ * </ul>
+ * Excluded from the default build; run with {@code mvn -Pload-test test}.
+ */
+@Tag("load")
+public class VirtualThreadLoadTest {
+
+    private static final int SEED_ROWS = 1_000;
+
+    private static final int CONCURRENCY = 200;
+
+    private static final int REQUESTS = 3_000;
+
+    private static final Duration DATABASE_LATENCY = Duration.ofMillis(100);
+
+    private static final int SMALL = 10;
+
+    private static final int LARGE = 200;
+
+    @DisplayName("Load test comparing platform-thread and virtual-thread request handling against the pool size")
+    @Test
+    public void givenDatabaseLatency_whenVirtualThreadsEnabled_thenThroughputBoundByPoolInsteadOfThreads()
+            throws Exception {
+        // given - precondition or setup
+        double statementsPerConnection = 1000.0 / DATABASE_LATENCY.toMillis();
+
+        // when - action or the behaviour that we are going to test
+        double platformThroughput = measureThroughput(null, "--server.tomcat.threads.max=" + SMALL,
+                "--spring.datasource.hikari.maximum-pool-size=" + LARGE);
+        double virtualThroughput = measureThroughput("virtual-threads",
+                "--spring.datasource.hikari.maximum-pool-size=" + LARGE);
+        double poolBoundThroughput = measureThroughput("virtual-threads",
+                "--spring.datasource.hikari.maximum-pool-size=" + SMALL,
+                "--spring.datasource.hikari.minimum-idle=" + SMALL);
+
+        // then - verify the output
+        assertThat(platformThroughput).isLessThan(1.1 * SMALL * statementsPerConnection);
+        assertThat(virtualThroughput).isGreaterThan(2 * platformThroughput);
+        assertThat(poolBoundThroughput).isLessThan(1.1 * SMALL * statementsPerConnection);
+    }
+
+    // command-line arguments, so they win over the virtual-threads profile's pool settings
+    private double measureThroughput(String profile, String... arguments) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(SpringBootTestingApplication.class);
+        if (profile != null) {
+            builder.profiles(profile);
+        }
+        String[] sharedArguments = { "--server.port=0", "--spring.jpa.show-sql=false", "--logging.level.root=warn",
+                "--employee.cache.max-size=0",
+                "--spring.datasource.url=jdbc:h2:mem:load-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.properties.hibernate.session.events.auto=" + DatabaseLatency.class.getName() };
+
+        try (ConfigurableApplicationContext context = builder
+                .run(Stream.concat(Stream.of(sharedArguments), Stream.of(arguments)).toArray(String[]::new));
+                ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Long> ids = seed(context.getBean(EmployeeService.class));
+
+            String baseUrl = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer()
+                    .getPort() + "/api/employees/";
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientExecutor).build();
+
+            Semaphore inFlight = new Semaphore(CONCURRENCY);
+            AtomicInteger failures = new AtomicInteger();
+            List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(REQUESTS);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                String path = i % 2 == 0 ? String.valueOf(ids.get(i % ids.size())) : "page?size=20";
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).build();
+                inFlight.acquire();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> {
+                            inFlight.release();
+                            if (error != null || response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        }));
+            }
+            CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).exceptionally(error -> null).join();
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            assertThat(failures.get()).isZero();
+            return REQUESTS / seconds;
+        }
+    }
+
+    private static List<Long> seed(EmployeeService employeeService) {
+        List<Employee> employees = new ArrayList<>(SEED_ROWS);
+        for (int i = 0; i < SEED_ROWS; i++) {
+            employees.add(Employee.builder().firstName("First" + i).lastName("Last" + i)
+                    .email("employee" + i + "@example.com").build());
+        }
+        employeeService.saveEmployees(employees);
+        return employeeService.getAllEmployees().getContent().stream().map(EmployeeView::getId).toList();
+    }
+
+    // registered through hibernate.session.events.auto, which needs a public no-argument constructor
+    public static class DatabaseLatency implements SessionEventListener {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            try {
+                Thread.sleep(DATABASE_LATENCY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.tohir.springboot.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.tohir.springboot.cache.EmployeeCache;
+import com.tohir.springboot.cache.EmployeeLookupCoalescer;
+import com.tohir.springboot.dto.EmployeeChangeBatch;
+import com.tohir.springboot.dto.EmployeePatch;
+import com.tohir.springboot.entity.Employee;
+import com.tohir.springboot.entity.EmployeeChange;
+import com.tohir.springboot.repository.EmployeeChangeRepository;
+import com.tohir.springboot.search.EmployeeSearchIndex;
+import com.tohir.springboot.service.EmployeeService;
+import com.tohir.springboot.service.impl.EmployeeServiceImpl;
+
+@DataJpaTest(properties = "employee.outbox.settle-time=0s")
+@Import({ EmployeeServiceImpl.class, EmployeeCache.class, EmployeeLookupCoalescer.class, EmployeeSearchIndex.class,
+        EmployeeChangeFeed.class })
+public class EmployeeChangeFeedTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeChangeFeed changeFeed;
+
+    @Autowired
+    private EmployeeChangeRepository changeRepository;
+
+    @DisplayName("JUnit test for writes recorded in the change feed in order")
+    @Test
+    public void givenCreateUpdatePatchDelete_whenRead_thenReturnChangesInOrder() {
+        // given - precondition or setup
+        Employee saved = employeeService.saveEmployee(employee("Tohir", "tohir.raihan@gmail.com"));
+        saved.setLastName("Rayhan");
+        employeeService.updateEmployee(saved);
+        employeeService.patchEmployee(saved.getId(), new EmployeePatch("Tohir Ahmed", null, null, null));
+        employeeService.deleteEmployee(saved.getId());
+
+        // when - action or the behaviour that we are going to test
+        EmployeeChangeBatch batch = changeFeed.read(0, 100);
+        EmployeeChangeBatch next = changeFeed.read(batch.getNextOffset(), 100);
+
+        // then - verify the output
+        assertThat(batch.getChanges()).extracting(EmployeeChange::getOperation).containsExactly(
+                EmployeeChange.Operation.CREATED, EmployeeChange.Operation.UPDATED,
+                EmployeeChange.Operation.UPDATED, EmployeeChange.Operation.DELETED);
+        assertThat(batch.getChanges()).extracting(EmployeeChange::getVersion).containsExactly(0L, 1L, 2L, 2L);
+        EmployeeChange deleted = batch.getChanges().get(3);
+        assertThat(deleted.getFirstName()).isEqualTo("Tohir Ahmed");
+        assertThat(deleted.getLastName()).isEqualTo("Rayhan");
+        assertThat(deleted.getEmail()).isEqualTo("tohir.raihan@gmail.com");
+        assertThat(batch.getNextOffset()).isEqualTo(deleted.getId());
+        assertThat(next.getChanges()).isEmpty();
+        assertThat(next.getNextOffset()).isEqualTo(batch.getNextOffset());
+    }
+
+    @DisplayName("JUnit test for outbox cleanup keeping the latest change of each live employee")
+    @Test
+    public void givenSupersededChanges_whenCleanUp_thenKeepLatestChangePerLiveEmployee() {
+        // given - precondition or setup
+        Employee kept = employeeService.saveEmployee(employee("Tohir", "tohir.raihan@gmail.com"));
+        Employee removed = employeeService.saveEmployee(employee("Jack", "jack@gmail.com"));
+        kept.setFirstName("Tohir Ahmed");
+        employeeService.updateEmployee(kept);
+        employeeService.deleteEmployee(removed.getId());
+        EmployeeChangeFeed expiringFeed = new EmployeeChangeFeed(changeRepository, Duration.ZERO, Duration.ZERO,
+                Duration.ZERO);
+
+        // when - action or the behaviour that we are going to test
+        expiringFeed.cleanUp();
+
+        // then - verify the output
+        List<EmployeeChange> changes = changeFeed.read(0, 100).getChanges();
+        assertThat(changes).singleElement().satisfies(change -> {
+            assertThat(change.getEmployeeId()).isEqualTo(kept.getId());
+            assertThat(change.getOperation()).isEqualTo(EmployeeChange.Operation.UPDATED);
+            assertThat(change.getFirstName()).isEqualTo("Tohir Ahmed");
+        });
+    }
+
+    @DisplayName("JUnit test for a long-poll answered once a change arrives")
+    @Test
+    public void givenParkedPoll_whenEmployeeSavedAndDispatch_thenReturnChange() {
+        // given - precondition or setup
+        DeferredResult<EmployeeChangeBatch> poll = changeFeed.poll(0, 100, Duration.ofSeconds(30));
+        boolean answeredBeforeSave = poll.hasResult();
+
+        // when - action or the behaviour that we are going to test
+        employeeService.saveEmployee(employee("Tohir", "tohir.raihan@gmail.com"));
+        changeFeed.dispatch();
+
+        // then - verify the output
+        assertThat(answeredBeforeSave).isFalse();
+        assertThat(poll.hasResult()).isTrue();
+        EmployeeChangeBatch batch = (EmployeeChangeBatch) poll.getResult();
+        assertThat(batch.getChanges()).extracting(EmployeeChange::getEmail).containsExactly("tohir.raihan@gmail.com");
+    }
+
+    private static Employee employee(String firstName, String email) {
+        return Employee.builder().firstName(firstName).lastName("Raihan").email(email).build();
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.tohir.springboot.purge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import com.tohir.springboot.cache.EmployeeCache;
+import com.tohir.springboot.cache.EmployeeLookupCoalescer;
+import com.tohir.springboot.entity.Employee;
+import com.tohir.springboot.repository.EmployeeRepository;
+import com.tohir.springboot.search.EmployeeSearchIndex;
+import com.tohir.springboot.service.EmployeeService;
+import com.tohir.springboot.service.impl.EmployeeServiceImpl;
+
+@DataJpaTest
+@Import({ EmployeeServiceImpl.class, EmployeeCache.class, EmployeeLookupCoalescer.class, EmployeeSearchIndex.class })
+public class EmployeePurgeJobTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @DisplayName("JUnit test for a soft-deleted employee hidden from every query")
+    @Test
+    public void givenDeletedEmployee_whenQueried_thenHiddenAndEmailReusable() {
+        // given - precondition or setup
+        Employee deleted = employeeService.saveEmployee(employee("Tohir", "tohir.raihan@gmail.com"));
+
+        // when - action or the behaviour that we are going to test
+        employeeService.deleteEmployee(deleted.getId());
+        Employee recreated = employeeService.saveEmployee(employee("Tohir", "tohir.raihan@gmail.com"));
+
+        // then - verify the output
+        assertThat(employeeRepository.findById(deleted.getId())).isEmpty();
+        assertThat(employeeRepository.findAllById(List.of(deleted.getId()))).isEmpty();
+        assertThat(employeeRepository.findByNativeSQL("Tohir", "Raihan")).extracting(Employee::getId)
+                .containsExactly(recreated.getId());
+        assertThat(employeeRepository.findByEmail("tohir.raihan@gmail.com")).get()
+                .extracting(Employee::getId).isEqualTo(recreated.getId());
+        assertThat(employeeRepository.findTableVersion().getCount()).isEqualTo(1L);
+        assertThat(employeeRepository.findPurgeableIds(Instant.now().plusSeconds(1), PageRequest.of(0, 10)))
+                .containsExactly(deleted.getId());
+    }
+
+    @DisplayName("JUnit test for purge hard-deleting soft-deleted employees in bounded batches")
+    @Test
+    public void givenDeletedEmployees_whenPurge_thenHardDeleteInBatches() {
+        // given - precondition or setup
+        Employee kept = employeeService.saveEmployee(employee("Tohir", "tohir.raihan@gmail.com"));
+        for (int i = 0; i < 3; i++) {
+            Employee removed = employeeService.saveEmployee(employee("Jack", "jack" + i + "@gmail.com"));
+            employeeService.deleteEmployee(removed.getId());
+        }
+        EmployeePurgeJob purgeJob = new EmployeePurgeJob(employeeRepository, Duration.ZERO, 2, "01:00", "05:00");
+
+        // when - action or the behaviour that we are going to test
+        int firstRun = purgeJob.purge(() -> false);
+        int secondRun = purgeJob.purge(() -> true);
+
+        // then - verify the output
+        assertThat(firstRun).isEqualTo(2);
+        assertThat(secondRun).isEqualTo(1);
+        assertThat(employeeRepository.findPurgeableIds(Instant.now().plusSeconds(1), PageRequest.of(0, 10)))
+                .isEmpty();
+        assertThat(employeeRepository.findAll()).extracting(Employee::getId).containsExactly(kept.getId());
+    }
+
+    @DisplayName("JUnit test for a purge window wrapping past midnight")
+    @Test
+    public void givenWindowPastMidnight_whenIsInWindow_thenOnlyInsideWindow() {
+        // given - precondition or setup
+        EmployeePurgeJob purgeJob = new EmployeePurgeJob(employeeRepository, Duration.ZERO, 500, "22:00", "02:00");
+        EmployeePurgeJob allDay = new EmployeePurgeJob(employeeRepository, Duration.ZERO, 500, "00:00", "00:00");
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        assertThat(purgeJob.isInWindow(LocalTime.of(23, 0))).isTrue();
+        assertThat(purgeJob.isInWindow(LocalTime.of(1, 59))).isTrue();
+        assertThat(purgeJob.isInWindow(LocalTime.of(2, 0))).isFalse();
+        assertThat(purgeJob.isInWindow(LocalTime.of(12, 0))).isFalse();
+        assertThat(allDay.isInWindow(LocalTime.of(12, 0))).isTrue();
+    }
+
+    private static Employee employee(String firstName, String email) {
+        return Employee.builder().firstName(firstName).lastName("Raihan").email(email).build();
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.tohir.springboot.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class RateLimitInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    public void setUp() throws NoSuchMethodException {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setShedAbove(2);
+        properties.getGroups().put(RateLimitGroup.HEAVY, limit(0, 1, true));
+        properties.getGroups().put(RateLimitGroup.LOOKUP, limit(0, 5, false));
+        properties.getGroups().put(RateLimitGroup.WRITE, limit(1, 0, false));
+        RateLimitProperties.GroupLimit bulk = limit(0.001, 1, false);
+        bulk.setBurst(2);
+        properties.getGroups().put(RateLimitGroup.BULK, bulk);
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new RateLimitInterceptor(properties, meterRegistry);
+    }
+
+    @DisplayName("JUnit test for a group at max concurrency until the running request completes")
+    @Test
+    public void givenGroupAtMaxConcurrent_whenRequest_thenServiceUnavailableUntilCompletion() throws Exception {
+        // given - precondition or setup
+        HandlerMethod heavy = handler("heavy");
+        MockHttpServletRequest running = new MockHttpServletRequest();
+        interceptor.preHandle(running, new MockHttpServletResponse(), heavy);
+
+        // when - action or the behaviour that we are going to test
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        boolean allowedWhileRunning = interceptor.preHandle(new MockHttpServletRequest(), rejected, heavy);
+        interceptor.afterCompletion(running, new MockHttpServletResponse(), heavy, null);
+        boolean allowedAfterCompletion = interceptor.preHandle(new MockHttpServletRequest(),
+                new MockHttpServletResponse(), heavy);
+
+        // then - verify the output
+        assertThat(allowedWhileRunning).isFalse();
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(allowedAfterCompletion).isTrue();
+        assertThat(rejectionCount("heavy", "concurrency")).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for an empty token bucket answered with 429 and Retry-After")
+    @Test
+    public void givenEmptyBucket_whenRequest_thenTooManyRequests() throws Exception {
+        // given - precondition or setup
+        HandlerMethod write = handler("write");
+        interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), write);
+
+        // when - action or the behaviour that we are going to test
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean allowed = interceptor.preHandle(new MockHttpServletRequest(), response, write);
+
+        // then - verify the output
+        assertThat(allowed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(rejectionCount("write", "rate")).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for a concurrency rejection leaving the rate budget untouched")
+    @Test
+    public void givenGroupAtMaxConcurrent_whenRejected_thenNoTokenSpent() throws Exception {
+        // given - precondition or setup
+        HandlerMethod bulk = handler("bulk");
+        MockHttpServletRequest running = new MockHttpServletRequest();
+        interceptor.preHandle(running, new MockHttpServletResponse(), bulk);
+
+        // when - action or the behaviour that we are going to test
+        MockHttpServletResponse busy = new MockHttpServletResponse();
+        interceptor.preHandle(new MockHttpServletRequest(), busy, bulk);
+        interceptor.afterCompletion(running, new MockHttpServletResponse(), bulk, null);
+        boolean allowedAfterCompletion = interceptor.preHandle(new MockHttpServletRequest(),
+                new MockHttpServletResponse(), bulk);
+
+        // then - verify the output
+        assertThat(busy.getStatus()).isEqualTo(503);
+        assertThat(allowedAfterCompletion).isTrue();
+        assertThat(rejectionCount("bulk", "rate")).isZero();
+    }
+
+    @DisplayName("JUnit test for sheddable groups rejected first under overload")
+    @Test
+    public void givenOverloaded_whenSheddableRequest_thenShedWhileOthersPass() throws Exception {
+        // given - precondition or setup
+        HandlerMethod lookup = handler("lookup");
+        interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), lookup);
+        interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), lookup);
+
+        // when - action or the behaviour that we are going to test
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        boolean heavyAllowed = interceptor.preHandle(new MockHttpServletRequest(), shed, handler("heavy"));
+        boolean lookupAllowed = interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                lookup);
+
+        // then - verify the output
+        assertThat(heavyAllowed).isFalse();
+        assertThat(shed.getStatus()).isEqualTo(503);
+        assertThat(lookupAllowed).isTrue();
+        assertThat(rejectionCount("heavy", "shed")).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for handlers without a limit group passing through")
+    @Test
+    public void givenUnannotatedHandler_whenRequest_thenAllowed() throws Exception {
+        // when - action or the behaviour that we are going to test
+        boolean allowed = interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                handler("unlimited"));
+
+        // then - verify the output
+        assertThat(allowed).isTrue();
+    }
+
+    private double rejectionCount(String group, String reason) {
+        return meterRegistry.get("employee.ratelimit.rejections").tag("group", group).tag("reason", reason)
+                .counter().count();
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), Handlers.class.getMethod(name));
+    }
+
+    private static RateLimitProperties.GroupLimit limit(double requestsPerSecond, int maxConcurrent,
+            boolean sheddable) {
+        RateLimitProperties.GroupLimit limit = new RateLimitProperties.GroupLimit();
+        limit.setRequestsPerSecond(requestsPerSecond);
+        limit.setMaxConcurrent(maxConcurrent);
+        limit.setSheddable(sheddable);
+        return limit;
+    }
+
+    static class Handlers {
+
+        @RateLimitGroup(RateLimitGroup.HEAVY)
+        public void heavy() {
+        }
+
+        @RateLimitGroup(RateLimitGroup.LOOKUP)
+        public void lookup() {
+        }
+
+        @RateLimitGroup(RateLimitGroup.WRITE)
+        public void write() {
+        }
+
+        @RateLimitGroup(RateLimitGroup.BULK)
+        public void bulk() {
+        }
+
+        public void unlimited() {
+        }
+
+    }
+
+}
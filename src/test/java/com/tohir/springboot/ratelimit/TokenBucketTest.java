@@ -0,0 +1,36 @@
+package com.tohir.springboot.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketTest {
+
+    @DisplayName("JUnit test for token bucket allowing a burst then refilling at its rate")
+    @Test
+    public void givenBurstSpent_whenTimePasses_thenTokensRefillAtRate() {
+        // given - precondition or setup
+        AtomicLong now = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(2, 3, now::get);
+
+        // when - action or the behaviour that we are going to test
+        long first = bucket.tryAcquire();
+        long second = bucket.tryAcquire();
+        long third = bucket.tryAcquire();
+        long empty = bucket.tryAcquire();
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        long refilled = bucket.tryAcquire();
+
+        // then - verify the output
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isZero();
+        assertThat(empty).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(refilled).isZero();
+    }
+
+}
@@ -2,22 +2,46 @@ package com.tohir.springboot.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.tohir.springboot.dto.EmployeePatch;
+import com.tohir.springboot.dto.EmployeeTableVersion;
+import com.tohir.springboot.dto.EmployeeVersion;
+import com.tohir.springboot.dto.EmployeeView;
 import com.tohir.springboot.entity.Employee;
 
+import jakarta.persistence.Query;
+
 @DataJpaTest
 public class EmployeeRepositoryTest {
 
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private StatementCapture statementCapture;
+
     private Employee employee;
 
     @BeforeEach
@@ -40,6 +64,21 @@ public class EmployeeRepositoryTest {
         Assertions.assertThat(savedEmployee.getId()).isGreaterThan(0);
     }
 
+    @DisplayName("JUnit test for unique email constraint")
+    @Test
+    public void givenExistingEmail_whenSaveAndFlush_thenThrowDataIntegrityViolation() {
+
+        // given - precondition or setup
+        employeeRepository.saveAndFlush(employee);
+        Employee duplicate = Employee.builder().firstName("Jack").lastName("Harpoor").email(employee.getEmail())
+                .build();
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        Assertions.assertThatThrownBy(() -> employeeRepository.saveAndFlush(duplicate))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
     @DisplayName("JUnit test for find all employee operation")
     @Test
     public void givenEmployeeList_whenFindAll_thenReturnEmployeeList() {
@@ -61,6 +100,30 @@ public class EmployeeRepositoryTest {
         Assertions.assertThat(employees.size()).isEqualTo(2);
     }
 
+    @DisplayName("JUnit test for keyset page operation")
+    @Test
+    public void givenEmployeeList_whenFindNextPage_thenReturnRowsAfterId() {
+
+        // given - precondition or setup
+        Employee employee1 = Employee.builder().firstName("Tohir").lastName("Raihan").email("tohir.raihan@gmail.com")
+                .build();
+        Employee employee2 = Employee.builder().firstName("Test").lastName("Name").email("test.name@gmail.com")
+                .build();
+        Employee employee3 = Employee.builder().firstName("Jack").lastName("Harpoor").email("jack@gmail.com")
+                .build();
+
+        employeeRepository.save(employee1);
+        employeeRepository.save(employee2);
+        employeeRepository.save(employee3);
+
+        // when - action or the behaviour that we are going to test
+        List<EmployeeView> employees = employeeRepository.findNextPage(employee1.getId(), PageRequest.of(0, 1));
+
+        // then - verify the output
+        Assertions.assertThat(employees).hasSize(1);
+        Assertions.assertThat(employees.get(0).getId()).isEqualTo(employee2.getId());
+    }
+
     @DisplayName("JUnit test for find employee by id operation")
     @Test
     public void givenEmployeeObject_whenFindById_thenReturnEmployeeObject() {
@@ -75,6 +138,62 @@ public class EmployeeRepositoryTest {
         Assertions.assertThat(employeeDB).isNotNull();
     }
 
+    @DisplayName("JUnit test that find by id loads a read-only entity")
+    @Test
+    public void givenEmployeeObject_whenFindById_thenEntityIsReadOnly() {
+
+        // given - precondition or setup
+        employeeRepository.saveAndFlush(employee);
+        entityManager.clear();
+
+        // when - action or the behaviour that we are going to test
+        Employee employeeDB = employeeRepository.findById(employee.getId()).get();
+
+        // then - verify the output
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+        Assertions.assertThat(session.isReadOnly(employeeDB)).isTrue();
+    }
+
+    @DisplayName("JUnit test for find all employee views operation")
+    @Test
+    public void givenEmployeesList_whenFindAllViews_thenReturnViewsInIdOrder() {
+
+        // given - precondition or setup
+        Employee employee2 = Employee.builder().firstName("Jack").lastName("Harpoor").email("jack@gmail.com")
+                .build();
+        employeeRepository.save(employee);
+        employeeRepository.save(employee2);
+
+        // when - action or the behaviour that we are going to test
+        List<EmployeeView> employees = employeeRepository.findAllViews();
+
+        // then - verify the output
+        Assertions.assertThat(employees).extracting(EmployeeView::getId)
+                .containsExactly(employee.getId(), employee2.getId());
+    }
+
+    @DisplayName("JUnit test for version stamps of one employee and of the table")
+    @Test
+    public void givenSavedEmployees_whenFindVersions_thenReturnStampsWithoutEntities() {
+
+        // given - precondition or setup
+        Employee employee2 = Employee.builder().firstName("Jack").lastName("Harpoor").email("jack@gmail.com")
+                .build();
+        employeeRepository.save(employee);
+        employeeRepository.saveAndFlush(employee2);
+
+        // when - action or the behaviour that we are going to test
+        EmployeeVersion version = employeeRepository.findVersionById(employee.getId()).get();
+        EmployeeTableVersion tableVersion = employeeRepository.findTableVersion();
+
+        // then - verify the output
+        Assertions.assertThat(version.getETag()).isEqualTo("W/\"0\"");
+        Assertions.assertThat(version.getUpdatedAt()).isNotNull();
+        Assertions.assertThat(tableVersion.getCount()).isEqualTo(2);
+        Assertions.assertThat(tableVersion.getVersionSum()).isZero();
+        Assertions.assertThat(employeeRepository.findVersionById(-1L)).isEmpty();
+    }
+
     @DisplayName("JUnit test for get employee by email operation")
     @Test
     public void givenEmployeeEmail_whenFindByEmail_thenReturnEmployeeObject() {
@@ -106,6 +225,28 @@ public class EmployeeRepositoryTest {
         Assertions.assertThat(updatedEmployee.getEmail()).isEqualTo("test@gmail.com");
     }
 
+    @DisplayName("JUnit test for patch employee operation")
+    @Test
+    public void givenCurrentVersion_whenPatch_thenUpdateOnlyGivenColumnAndBumpVersion() {
+
+        // given - precondition or setup
+        employeeRepository.saveAndFlush(employee);
+        Long version = employee.getVersion();
+
+        // when - action or the behaviour that we are going to test
+        int updated = employeeRepository.patch(employee.getId(), new EmployeePatch(null, null, "test@gmail.com", version));
+        int stale = employeeRepository.patch(employee.getId(), new EmployeePatch("Jack", null, null, version));
+        entityManager.clear();
+        Employee employeeDB = employeeRepository.findById(employee.getId()).get();
+
+        // then - verify the output
+        Assertions.assertThat(updated).isEqualTo(1);
+        Assertions.assertThat(stale).isZero();
+        Assertions.assertThat(employeeDB.getEmail()).isEqualTo("test@gmail.com");
+        Assertions.assertThat(employeeDB.getFirstName()).isEqualTo("Tohir");
+        Assertions.assertThat(employeeDB.getVersion()).isEqualTo(version + 1);
+    }
+
     @DisplayName("JUnit test for delete employee operation")
     @Test
     public void givenEmployeeObject_whenDelete_thenRemoveEmployee() {
@@ -123,7 +264,7 @@ public class EmployeeRepositoryTest {
 
     @DisplayName("JUnit test for custom query using JPQL with index")
     @Test
-    public void givenFirstNameAndLastName_whenFindByJPQL_thenReturnEmployee() {
+    public void givenFirstNameAndLastName_whenFindByJPQL_thenReturnEmployeeList() {
 
         // given - precondition or setup
         employeeRepository.save(employee);
@@ -132,15 +273,15 @@ public class EmployeeRepositoryTest {
         String lastName = "Raihan";
 
         // when - action or the behaviour that we are going to test
-        Employee employeeDB = employeeRepository.findByJPQL(firstName, lastName);
+        List<Employee> employees = employeeRepository.findByJPQL(firstName, lastName);
 
         // then - verify the output
-        Assertions.assertThat(employeeDB).isNotNull();
+        Assertions.assertThat(employees).hasSize(1);
     }
 
     @DisplayName("JUnit test for custom query using JPQL with named params")
     @Test
-    public void givenFirstNameAndLastName_whenFindByJPQLNamedParams_thenReturnEmployee() {
+    public void givenFirstNameAndLastName_whenFindByJPQLNamedParams_thenReturnEmployeeList() {
 
         // given - precondition or setup
         employeeRepository.save(employee);
@@ -149,15 +290,15 @@ public class EmployeeRepositoryTest {
         String lastName = "Raihan";
 
         // when - action or the behaviour that we are going to test
-        Employee employeeDB = employeeRepository.findByJPQLNamedParams(firstName, lastName);
+        List<Employee> employees = employeeRepository.findByJPQLNamedParams(firstName, lastName);
 
         // then - verify the output
-        Assertions.assertThat(employeeDB).isNotNull();
+        Assertions.assertThat(employees).hasSize(1);
     }
 
     @DisplayName("JUnit test for custom query using Native SQL with index")
     @Test
-    public void givenFirstNameAndLastName_whenFindByNativeSQL_thenReturnEmployee() {
+    public void givenFirstNameAndLastName_whenFindByNativeSQL_thenReturnEmployeeList() {
 
         // given - precondition or setup
         employeeRepository.save(employee);
@@ -166,15 +307,15 @@ public class EmployeeRepositoryTest {
         String lastName = "Raihan";
 
         // when - action or the behaviour that we are going to test
-        Employee employeeDB = employeeRepository.findByNativeSQL(firstName, lastName);
+        List<Employee> employees = employeeRepository.findByNativeSQL(firstName, lastName);
 
         // then - verify the output
-        Assertions.assertThat(employeeDB).isNotNull();
+        Assertions.assertThat(employees).hasSize(1);
     }
 
     @DisplayName("JUnit test for custom query using Native SQL with named params")
     @Test
-    public void givenFirstNameAndLastName_whenFindByNativeSQLNamedParams_thenReturnEmployee() {
+    public void givenFirstNameAndLastName_whenFindByNativeSQLNamedParams_thenReturnEmployeeList() {
 
         // given - precondition or setup
         employeeRepository.save(employee);
@@ -183,10 +324,116 @@ public class EmployeeRepositoryTest {
         String lastName = "Raihan";
 
         // when - action or the behaviour that we are going to test
-        Employee employeeDB = employeeRepository.findByNativeSQLNamedParams(firstName, lastName);
+        List<Employee> employees = employeeRepository.findByNativeSQLNamedParams(firstName, lastName);
 
         // then - verify the output
-        Assertions.assertThat(employeeDB).isNotNull();
+        Assertions.assertThat(employees).hasSize(1);
+    }
+
+    @DisplayName("JUnit test for custom query returning every employee with the same name")
+    @Test
+    public void givenEmployeesWithSameName_whenFindByJPQL_thenReturnAllOfThem() {
+
+        // given - precondition or setup
+        Employee namesake = Employee.builder().firstName("Tohir").lastName("Raihan").email("tohir@example.com")
+                .build();
+        employeeRepository.save(employee);
+        employeeRepository.save(namesake);
+
+        // when - action or the behaviour that we are going to test
+        List<Employee> employees = employeeRepository.findByJPQL("Tohir", "Raihan");
+
+        // then - verify the output
+        Assertions.assertThat(employees).hasSize(2);
+    }
+
+    @DisplayName("JUnit test for name prefix search")
+    @Test
+    public void givenNamePrefixes_whenSearchByName_thenReturnMatchingPage() {
+
+        // given - precondition or setup
+        Employee employee2 = Employee.builder().firstName("Tanvir").lastName("Rahman").email("tanvir@gmail.com")
+                .build();
+        Employee employee3 = Employee.builder().firstName("Jack").lastName("Harpoor").email("jack@gmail.com")
+                .build();
+        employeeRepository.save(employee);
+        employeeRepository.save(employee2);
+        employeeRepository.save(employee3);
+
+        // when - action or the behaviour that we are going to test
+        Page<EmployeeView> page = employeeRepository.findByLastNameStartingWithAndFirstNameStartingWith("Ra", "T",
+                PageRequest.of(0, 1));
+
+        // then - verify the output
+        Assertions.assertThat(page.getTotalElements()).isEqualTo(2);
+        Assertions.assertThat(page.getContent()).hasSize(1);
+        Assertions.assertThat(page.getContent().get(0).getLastName()).startsWith("Ra");
+    }
+
+    @DisplayName("JUnit test that the SQL generated for name queries uses the composite name index")
+    @Test
+    public void givenNameQueries_whenExplainGeneratedSql_thenPlanUsesNameIndex() {
+
+        // given - precondition or setup
+        employeeRepository.saveAndFlush(employee);
+        statementCapture.clear();
+
+        // when - action or the behaviour that we are going to test
+        employeeRepository.findByJPQLNamedParams("Tohir", "Raihan");
+        employeeRepository.findByLastNameStartingWithAndFirstNameStartingWith("Rai", "",
+                PageRequest.of(0, 10, Sort.by("lastName", "firstName", "id")));
+        List<String> statements = statementCapture.getStatements();
+
+        // then - verify the output
+        Assertions.assertThat(statements).hasSize(2);
+        // bound as the repository binds them: the last name prefix as a range, then offset and limit
+        Assertions.assertThat(explain(statements.get(0), "Tohir", "Raihan")).containsIgnoringCase(Employee.NAME_INDEX);
+        Assertions.assertThat(explain(statements.get(1), "Rai", "Rai" + Character.MAX_VALUE, "%", 0, 10))
+                .containsIgnoringCase(Employee.NAME_INDEX);
+    }
+
+    private String explain(String sql, Object... parameters) {
+        Query query = entityManager.getEntityManager().createNativeQuery("EXPLAIN " + sql);
+        for (int i = 0; i < parameters.length; i++) {
+            query.setParameter(i + 1, parameters[i]);
+        }
+        return (String) query.getSingleResult();
+    }
+
+    // records the SQL Hibernate sends to the driver, so plans are checked for the statements actually run
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        public StatementCapture statementCapture() {
+            return new StatementCapture();
+        }
+
+        @Bean
+        public HibernatePropertiesCustomizer statementCaptureCustomizer(StatementCapture statementCapture) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCapture);
+        }
+
+    }
+
+    static class StatementCapture implements StatementInspector {
+
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        List<String> getStatements() {
+            return List.copyOf(statements);
+        }
+
+        void clear() {
+            statements.clear();
+        }
+
     }
 
 }
@@ -0,0 +1,84 @@
+package com.tohir.springboot.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.tohir.springboot.dto.EmployeePatch;
+import com.tohir.springboot.dto.EmployeeView;
+
+public class EmployeeSearchIndexTest {
+
+    private EmployeeSearchIndex searchIndex;
+
+    @BeforeEach
+    public void setUp() {
+        searchIndex = new EmployeeSearchIndex(0.5);
+        searchIndex.put(new EmployeeView(1L, "Tohir", "Raihan", "tohir.raihan@gmail.com", 0L));
+        searchIndex.put(new EmployeeView(2L, "Jack", "Harpoor", "jack@gmail.com", 0L));
+        searchIndex.put(new EmployeeView(3L, "Raina", "M\u00fcller", "raina.mueller@example.com", 0L));
+    }
+
+    @DisplayName("JUnit test for prefix, typo and email fragment search")
+    @Test
+    public void givenIndexedEmployees_whenSearch_thenMatchPrefixesTyposAndEmailFragments() {
+        // when - action or the behaviour that we are going to test
+        List<Long> prefix = ids(searchIndex.search("Harp", PageRequest.of(0, 10)));
+        List<Long> typo = ids(searchIndex.search("raihna", PageRequest.of(0, 10)));
+        List<Long> emailFragment = ids(searchIndex.search("jack@gm", PageRequest.of(0, 10)));
+        List<Long> accents = ids(searchIndex.search("muller", PageRequest.of(0, 10)));
+
+        // then - verify the output
+        assertThat(prefix).containsExactly(2L);
+        assertThat(typo).startsWith(1L);
+        assertThat(emailFragment).containsExactly(2L);
+        assertThat(accents).containsExactly(3L);
+    }
+
+    @DisplayName("JUnit test for ranked search results split into pages")
+    @Test
+    public void givenSeveralHits_whenSearch_thenRankPrefixMatchesFirstAndPage() {
+        // when - action or the behaviour that we are going to test
+        Page<EmployeeView> first = searchIndex.search("rai", PageRequest.of(0, 1));
+        Page<EmployeeView> second = searchIndex.search("rai", PageRequest.of(1, 1));
+
+        // then - verify the output
+        assertThat(first.getTotalElements()).isEqualTo(2);
+        // both start with "rai", so they tie on score and are ordered by last name
+        assertThat(first.getContent()).extracting(EmployeeView::getId).containsExactly(3L);
+        assertThat(second.getContent()).extracting(EmployeeView::getId).containsExactly(1L);
+    }
+
+    @DisplayName("JUnit test for patches and removals applied to the index")
+    @Test
+    public void givenPatchAndRemove_whenSearch_thenIndexReflectsWrites() {
+        // given - precondition or setup
+        searchIndex.patch(2L, new EmployeePatch(null, "Sparrow", null, null));
+        searchIndex.remove(1L);
+
+        // when - action or the behaviour that we are going to test
+        Page<EmployeeView> patched = searchIndex.search("sparrow", PageRequest.of(0, 10));
+        Page<EmployeeView> oldName = searchIndex.search("harpoor", PageRequest.of(0, 10));
+        Page<EmployeeView> removed = searchIndex.search("tohir", PageRequest.of(0, 10));
+
+        // then - verify the output
+        assertThat(patched.getContent()).singleElement().satisfies(view -> {
+            assertThat(view.getId()).isEqualTo(2L);
+            assertThat(view.getVersion()).isEqualTo(1L);
+        });
+        assertThat(oldName).isEmpty();
+        assertThat(removed).isEmpty();
+        assertThat(searchIndex.size()).isEqualTo(2);
+    }
+
+    private static List<Long> ids(Page<EmployeeView> page) {
+        return page.getContent().stream().map(EmployeeView::getId).toList();
+    }
+
+}
@@ -1,29 +1,62 @@
 package com.tohir.springboot.service;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tohir.springboot.cache.EmployeeCache;
+import com.tohir.springboot.cache.EmployeeLookupCoalescer;
+import com.tohir.springboot.dto.BulkOperationResult;
+import com.tohir.springboot.dto.EmployeePage;
+import com.tohir.springboot.dto.EmployeePatch;
+import com.tohir.springboot.dto.EmployeeView;
 import com.tohir.springboot.entity.Employee;
+import com.tohir.springboot.exception.EmployeeAlreadyExistsException;
+import com.tohir.springboot.exception.EmployeeVersionConflictException;
 import com.tohir.springboot.exception.ResourceNotFoundException;
+import com.tohir.springboot.repository.EmployeeChangeRepository;
 import com.tohir.springboot.repository.EmployeeRepository;
+import com.tohir.springboot.search.EmployeeSearchIndex;
 import com.tohir.springboot.service.impl.EmployeeServiceImpl;
+import com.tohir.springboot.utils.CursorUtils;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -33,6 +66,22 @@ public class EmployeeServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private EmployeeChangeRepository changeRepository;
+
+    // runs callbacks directly; commit and rollback go to a mock transaction manager
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @Spy
+    private EmployeeCache employeeCache = new EmployeeCache(100, Duration.ofMinutes(5));
+
+    @Spy
+    private EmployeeLookupCoalescer lookupCoalescer = new EmployeeLookupCoalescer();
+
+    @Spy
+    private EmployeeSearchIndex searchIndex = new EmployeeSearchIndex(0.5);
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
@@ -50,14 +99,19 @@ public class EmployeeServiceTest {
     public void givenEmployeeObject_whenSaveEmployee_thenReturnEmployeeObject() {
 
         // given - precondition or setup
-        given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.empty());
-        given(employeeRepository.save(employee)).willReturn(employee);
+        // the id is cleared before the INSERT; the stub assigns one like the sequence would
+        given(employeeRepository.saveAndFlush(employee)).willAnswer(invocation -> {
+            employee.setId(1L);
+            return employee;
+        });
 
         // when - action or the behaviour that we are going to test
         Employee savedEmployee = employeeService.saveEmployee(employee);
 
         // then - verify the output
         assertThat(savedEmployee).isNotNull();
+        verify(employeeRepository, never()).findByEmail(any(String.class));
+        verify(changeRepository).appendChanges(eq("CREATED"), eq(List.of(1L)), any(Instant.class));
     }
 
     @DisplayName("JUnit test for saveEmployee method which throws exception")
@@ -65,35 +119,112 @@ public class EmployeeServiceTest {
     public void givenExistingEmail_whenSaveEmployee_thenThrowsException() {
 
         // given - precondition or setup
-        given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.of(employee));
-        // BDDMockito.given(employeeRepository.save(employee)).willReturn(employee);
+        given(employeeRepository.saveAndFlush(employee)).willThrow(new DataIntegrityViolationException(
+                "Unique index or primary key violation: \"PUBLIC.UK_EMPLOYEES_EMAIL_INDEX_D ON PUBLIC.EMPLOYEES(EMAIL)\""));
 
         // when - action or the behaviour that we are going to test
-        assertThrows(ResourceNotFoundException.class, () -> {
+        assertThrows(EmployeeAlreadyExistsException.class, () -> {
             employeeService.saveEmployee(employee);
         });
 
         // then - verify the output
-        verify(employeeRepository, never()).save(any(Employee.class));
+        verify(employeeRepository, never()).findByEmail(any(String.class));
     }
 
-    @DisplayName("JUnit test for getAllEmployees method")
+    @DisplayName("JUnit test for saveEmployees bulk method")
     @Test
-    public void givenEmployeesList_whenGetAllEmployees_thenReturnEmployeesList() {
+    public void givenEmployeesWithExistingEmail_whenSaveEmployees_thenSaveOthersAndReportFailure() {
 
         // given - precondition or setup
-        Employee employee2 = Employee.builder().id(2L).firstName("Jack").lastName("Harpoor")
+        Employee employee2 = Employee.builder().firstName("Jack").lastName("Harpoor")
                 .email("jack@gmail.com")
                 .build();
+        given(employeeRepository.findExistingEmails(any())).willReturn(List.of(employee.getEmail()));
+
+        // when - action or the behaviour that we are going to test
+        BulkOperationResult result = employeeService.saveEmployees(List.of(employee, employee2));
 
-        given(employeeRepository.findAll()).willReturn(List.of(employee, employee2));
+        // then - verify the output
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        assertThat(result.getFailures()).hasSize(1);
+        assertThat(result.getFailures().get(0).getIndex()).isEqualTo(0);
+        verify(employeeRepository, times(1)).saveAllAndFlush(List.of(employee2));
+    }
+
+    @DisplayName("JUnit test for saveEmployees bulk method when another writer takes an email mid-chunk")
+    @Test
+    public void givenEmailTakenConcurrently_whenSaveEmployees_thenReportFailedRowWithoutGeneratedId() {
+
+        // given - precondition or setup
+        Employee employee2 = Employee.builder().firstName("Jack").lastName("Harpoor")
+                .email("jack@gmail.com")
+                .build();
+        DataIntegrityViolationException duplicate = new DataIntegrityViolationException(
+                "Unique index or primary key violation: \"PUBLIC.UK_EMPLOYEES_EMAIL_INDEX_D ON PUBLIC.EMPLOYEES(EMAIL)\"");
+        given(employeeRepository.saveAllAndFlush(any())).willAnswer(invocation -> {
+            List<Employee> rows = invocation.getArgument(0);
+            rows.forEach(row -> row.setId(10L + rows.indexOf(row)));
+            throw duplicate;
+        });
+        given(employeeRepository.saveAndFlush(any(Employee.class))).willAnswer(invocation -> {
+            Employee row = invocation.getArgument(0);
+            // the sequence hands out an id even for the row whose INSERT is rolled back
+            row.setId(row.getEmail().equals(employee.getEmail()) ? 20L : 21L);
+            if (row.getEmail().equals(employee.getEmail())) {
+                throw duplicate;
+            }
+            return row;
+        });
 
         // when - action or the behaviour that we are going to test
-        List<Employee> employees = employeeService.getAllEmployees();
+        BulkOperationResult result = employeeService.saveEmployees(List.of(employee, employee2));
 
         // then - verify the output
-        assertThat(employees).isNotNull();
-        assertThat(employees.size()).isEqualTo(2);
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        assertThat(result.getFailures()).singleElement().satisfies(failure -> {
+            assertThat(failure.getIndex()).isEqualTo(0);
+            assertThat(failure.getId()).isNull();
+            assertThat(failure.getEmail()).isEqualTo(employee.getEmail());
+        });
+        assertThat(employee.getId()).isNull();
+        assertThat(employee2.getId()).isEqualTo(21L);
+    }
+
+    @DisplayName("JUnit test for deleteEmployees bulk method")
+    @Test
+    public void givenUnknownId_whenDeleteEmployees_thenSoftDeleteExistingInOneBatch() {
+
+        // given - precondition or setup
+        given(employeeRepository.findExistingIds(any())).willReturn(List.of(1L));
+
+        // when - action or the behaviour that we are going to test
+        BulkOperationResult result = employeeService.deleteEmployees(List.of(1L, 2L));
+
+        // then - verify the output
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        assertThat(result.getFailures()).extracting("id").containsExactly(2L);
+        verify(employeeRepository, times(1)).softDeleteAllById(eq(List.of(1L)), any(Instant.class));
+    }
+
+    @DisplayName("JUnit test for getAllEmployees method")
+    @Test
+    public void givenEmployeesList_whenGetAllEmployees_thenReturnEmployeesList() {
+
+        // given - precondition or setup
+        EmployeeView employee2 = new EmployeeView(2L, "Jack", "Harpoor", "jack@gmail.com", 0L);
+
+        given(employeeRepository.findNextPage(any(Long.class), any(Pageable.class)))
+                .willReturn(List.of(view(employee), employee2));
+
+        // when - action or the behaviour that we are going to test
+        EmployeePage employees = employeeService.getAllEmployees();
+
+        // then - verify the output
+        assertThat(employees.getContent()).isNotNull();
+        assertThat(employees.getContent().size()).isEqualTo(2);
+        assertThat(employees.getNextCursor()).isNull();
+        // one row past the cap, never an unbounded read
+        verify(employeeRepository).findNextPage(0L, PageRequest.of(0, EmployeeServiceImpl.MAX_PAGE_SIZE + 1));
     }
 
     @DisplayName("JUnit test for getAllEmployees method (negative senario)")
@@ -101,16 +232,53 @@ public class EmployeeServiceTest {
     public void givenEmptyEmployeesList_whenGetAllEmployees_thenReturnEmptyEmployeesList() {
 
         // given - precondition or setup
-        given(employeeRepository.findAll()).willReturn(Collections.emptyList());
+        given(employeeRepository.findNextPage(any(Long.class), any(Pageable.class)))
+                .willReturn(Collections.emptyList());
 
         // when - action or the behaviour that we are going to test
-        List<Employee> employees = employeeService.getAllEmployees();
+        List<EmployeeView> employees = employeeService.getAllEmployees().getContent();
 
         // then - verify the output
         assertThat(employees).isEmpty();
         assertThat(employees.size()).isEqualTo(0);
     }
 
+    @DisplayName("JUnit test for getEmployeesPage method")
+    @Test
+    public void givenMoreRowsThanPageSize_whenGetEmployeesPage_thenReturnPageWithCursor() {
+
+        // given - precondition or setup
+        EmployeeView employee1 = view(employee);
+        EmployeeView employee2 = new EmployeeView(2L, "Jack", "Harpoor", "jack@gmail.com", 0L);
+        given(employeeRepository.findNextPage(any(Long.class), any(Pageable.class)))
+                .willReturn(List.of(employee1, employee2));
+
+        // when - action or the behaviour that we are going to test
+        EmployeePage page = employeeService.getEmployeesPage(null, 1);
+
+        // then - verify the output
+        assertThat(page.getContent()).containsExactly(employee1);
+        assertThat(page.getNextCursor()).isNotNull();
+    }
+
+    @DisplayName("JUnit test for getEmployeesPage method (last page)")
+    @Test
+    public void givenCursor_whenGetEmployeesPage_thenSeekPastCursorAndReturnLastPage() {
+
+        // given - precondition or setup
+        String cursor = CursorUtils.encode(1L);
+        given(employeeRepository.findNextPage(any(Long.class), any(Pageable.class)))
+                .willReturn(Collections.emptyList());
+
+        // when - action or the behaviour that we are going to test
+        EmployeePage page = employeeService.getEmployeesPage(cursor, 10);
+
+        // then - verify the output
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+        verify(employeeRepository).findNextPage(1L, PageRequest.of(0, 11));
+    }
+
     @DisplayName("JUnit test for getEmployeeById method")
     @Test
     public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() {
@@ -124,15 +292,142 @@ public class EmployeeServiceTest {
         assertThat(employeeDB).isNotNull();
     }
 
+    @DisplayName("JUnit test for getEmployeeById method served from cache")
+    @Test
+    public void givenCachedEmployee_whenGetEmployeeByIdTwice_thenQueryRepositoryOnce() {
+        // given - precondition or setup
+        given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
+
+        // when - action or the behaviour that we are going to test
+        employeeService.getEmployeeById(employee.getId());
+        Employee employeeDB = employeeService.getEmployeeById(employee.getId()).get();
+
+        // then - verify the output
+        assertThat(employeeDB.getEmail()).isEqualTo(employee.getEmail());
+        verify(employeeRepository, times(1)).findById(employee.getId());
+    }
+
+    @DisplayName("JUnit test for getEmployeeByEmail method served from cache")
+    @Test
+    public void givenEmployeeCachedById_whenGetEmployeeByEmail_thenSkipRepository() {
+        // given - precondition or setup
+        given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
+        employeeService.getEmployeeById(employee.getId());
+
+        // when - action or the behaviour that we are going to test
+        Employee employeeDB = employeeService.getEmployeeByEmail(employee.getEmail()).get();
+
+        // then - verify the output
+        assertThat(employeeDB.getId()).isEqualTo(employee.getId());
+        verify(employeeRepository, never()).findByEmail(employee.getEmail());
+    }
+
+    @DisplayName("JUnit test for searchEmployeesByName method")
+    @Test
+    public void givenNamePrefixes_whenSearchEmployeesByName_thenQueryInIndexOrder() {
+        // given - precondition or setup
+        PageRequest pageRequest = PageRequest.of(0, 20, Sort.by("lastName", "firstName", "id"));
+        given(employeeRepository.findByLastNameStartingWithAndFirstNameStartingWith("Rai", "", pageRequest))
+                .willReturn(new PageImpl<>(List.of(view(employee)), pageRequest, 1));
+
+        // when - action or the behaviour that we are going to test
+        List<EmployeeView> employees = employeeService.searchEmployeesByName("Rai", null, 0, 20).getContent();
+
+        // then - verify the output
+        assertThat(employees).extracting(EmployeeView::getEmail).containsExactly(employee.getEmail());
+    }
+
+    @DisplayName("JUnit test for getEmployeesByIds method")
+    @Test
+    public void givenCachedAndUncachedIds_whenGetEmployeesByIds_thenQueryOnlyMissesInOneCall() {
+        // given - precondition or setup
+        Employee other = Employee.builder().id(2L).firstName("Jack").lastName("Harpoor").email("jack@gmail.com")
+                .build();
+        employeeCache.put(employee);
+        given(employeeRepository.findAllById(List.of(2L, 404L))).willReturn(List.of(other));
+
+        // when - action or the behaviour that we are going to test
+        List<Employee> employees = employeeService.getEmployeesByIds(List.of(2L, 1L, 404L, 2L));
+
+        // then - verify the output
+        assertThat(employees).extracting(Employee::getId).containsExactly(2L, 1L);
+        verify(employeeRepository, times(1)).findAllById(List.of(2L, 404L));
+        assertThat(employeeCache.getById(2L)).isNotNull();
+    }
+
+    @DisplayName("JUnit test for concurrent getEmployeeById cache misses sharing one query")
+    @Test
+    public void givenConcurrentCacheMisses_whenGetEmployeeById_thenQueryDatabaseOnce() throws Exception {
+        // given - precondition or setup
+        int callers = 16;
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        lookupCoalescer.bindTo(registry);
+        FunctionCounter shared = registry.get("employee.lookup.calls").tag("lookup", "id").tag("result", "shared")
+                .functionCounter();
+        CountDownLatch release = new CountDownLatch(1);
+        given(employeeRepository.findById(employee.getId())).willAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return Optional.of(employee);
+        });
+
+        // when - action or the behaviour that we are going to test
+        List<Optional<Employee>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Optional<Employee>>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> employeeService.getEmployeeById(employee.getId())));
+            }
+            // hold the query until every other caller has joined it
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (shared.count() < callers - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            for (Future<Optional<Employee>> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+        }
+
+        // then - verify the output
+        verify(employeeRepository, times(1)).findById(employee.getId());
+        assertThat(shared.count()).isEqualTo(callers - 1);
+        assertThat(results).hasSize(callers).allSatisfy(result -> assertThat(result).get()
+                .extracting(Employee::getEmail).isEqualTo(employee.getEmail()));
+        // waiting callers get copies, never the instance the query returned
+        assertThat(results).filteredOn(result -> result.get() == employee).hasSize(1);
+    }
+
+    @DisplayName("JUnit test for searchEmployees method following saves and deletes")
+    @Test
+    public void givenSavedThenDeletedEmployee_whenSearchEmployees_thenIndexFollowsWrites() {
+        // given - precondition or setup
+        given(employeeRepository.saveAndFlush(employee)).willAnswer(invocation -> {
+            Employee saved = invocation.getArgument(0);
+            saved.setId(7L);
+            saved.setVersion(0L);
+            return saved;
+        });
+        employeeService.saveEmployee(employee);
+
+        // when - action or the behaviour that we are going to test
+        List<EmployeeView> beforeDelete = employeeService.searchEmployees("raihn", 0, 20).getContent();
+        employeeService.deleteEmployee(7L);
+        List<EmployeeView> afterDelete = employeeService.searchEmployees("raihn", 0, 20).getContent();
+
+        // then - verify the output
+        assertThat(beforeDelete).extracting(EmployeeView::getId).containsExactly(7L);
+        assertThat(afterDelete).isEmpty();
+    }
+
     @DisplayName("JUnit test for updateEmployee method")
     @Test
     public void givenEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployee() {
 
         // given - precondition or setup
-        Employee employee2 = Employee.builder().firstName("Jack").lastName("Harpoor")
+        Employee employee2 = Employee.builder().id(2L).firstName("Jack").lastName("Harpoor")
                 .email("jack@gmail.com")
                 .build();
-        given(employeeRepository.save(employee2)).willReturn(employee2);
+        given(employeeRepository.saveAndFlush(employee2)).willReturn(employee2);
 
         // when - action or the behaviour that we are going to test
         Employee updatedEmployee = employeeService.updateEmployee(employee2);
@@ -141,18 +436,78 @@ public class EmployeeServiceTest {
         assertThat(updatedEmployee.getEmail()).isEqualTo(employee2.getEmail());
     }
 
+    @DisplayName("JUnit test for patchEmployee method")
+    @Test
+    public void givenPatch_whenPatchEmployee_thenIssueSingleUpdateAndEvictCache() {
+
+        // given - precondition or setup
+        EmployeePatch patch = new EmployeePatch(null, null, "jack@gmail.com", 0L);
+        given(employeeRepository.patch(employee.getId(), patch)).willReturn(1);
+
+        // when - action or the behaviour that we are going to test
+        employeeService.patchEmployee(employee.getId(), patch);
+
+        // then - verify the output
+        verify(employeeRepository, never()).findById(any(Long.class));
+        verify(employeeCache, times(1)).evict(employee.getId());
+    }
+
+    @DisplayName("JUnit test for patchEmployee method with a stale version")
+    @Test
+    public void givenStaleVersion_whenPatchEmployee_thenThrowsVersionConflict() {
+
+        // given - precondition or setup
+        EmployeePatch patch = new EmployeePatch("Jack", null, null, 3L);
+        given(employeeRepository.patch(employee.getId(), patch)).willReturn(0);
+        given(employeeRepository.existsById(employee.getId())).willReturn(true);
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        assertThrows(EmployeeVersionConflictException.class, () -> {
+            employeeService.patchEmployee(employee.getId(), patch);
+        });
+    }
+
+    @DisplayName("JUnit test for patchEmployee method with an unknown id")
+    @Test
+    public void givenUnknownId_whenPatchEmployee_thenThrowsNotFound() {
+
+        // given - precondition or setup
+        EmployeePatch patch = new EmployeePatch("Jack", null, null, null);
+        given(employeeRepository.patch(employee.getId(), patch)).willReturn(0);
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        assertThrows(ResourceNotFoundException.class, () -> {
+            employeeService.patchEmployee(employee.getId(), patch);
+        });
+    }
+
     @DisplayName("JUnit test for deleteEmployee method")
     @Test
-    public void givenEmployeeId_whenDeleteEmployee_thenNothing() {
+    public void givenEmployeeId_whenDeleteEmployee_thenSoftDeleteWithoutLoading() {
 
         // given - precondition or setup
-        // willDoNothing is used when stubing any method which returns void
-        willDoNothing().given(employeeRepository).deleteById(employee.getId());
+        given(employeeRepository.softDeleteAllById(eq(List.of(employee.getId())), any(Instant.class)))
+                .willReturn(1);
 
         // when - action or the behaviour that we are going to test
         employeeService.deleteEmployee(employee.getId());
 
         // then - verify the output
-        verify(employeeRepository, times(1)).deleteById(employee.getId());
+        verify(employeeRepository, times(1)).softDeleteAllById(eq(List.of(employee.getId())), any(Instant.class));
+        verify(employeeRepository, never()).findById(employee.getId());
+        verify(employeeRepository, never()).deleteById(employee.getId());
+        verify(employeeCache, times(1)).evict(employee.getId());
+        // the outbox row is written after the UPDATE, from the row it soft-deleted
+        InOrder inOrder = inOrder(employeeRepository, changeRepository);
+        inOrder.verify(employeeRepository).softDeleteAllById(eq(List.of(employee.getId())), any(Instant.class));
+        inOrder.verify(changeRepository).appendDeletes(eq(List.of(employee.getId())), any(Instant.class),
+                any(Instant.class));
+    }
+
+    private static EmployeeView view(Employee employee) {
+        return new EmployeeView(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), employee.getVersion());
     }
 }
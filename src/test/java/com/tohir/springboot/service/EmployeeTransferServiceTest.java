@@ -0,0 +1,114 @@
+package com.tohir.springboot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.tohir.springboot.cache.EmployeeCache;
+import com.tohir.springboot.cache.EmployeeLookupCoalescer;
+import com.tohir.springboot.dto.BulkOperationResult;
+import com.tohir.springboot.exception.InvalidImportException;
+import com.tohir.springboot.repository.EmployeeRepository;
+import com.tohir.springboot.search.EmployeeSearchIndex;
+import com.tohir.springboot.service.impl.EmployeeServiceImpl;
+import com.tohir.springboot.service.impl.EmployeeTransferServiceImpl;
+
+@DataJpaTest
+@Import({ EmployeeTransferServiceImpl.class, EmployeeServiceImpl.class, EmployeeCache.class,
+        EmployeeLookupCoalescer.class, EmployeeSearchIndex.class, JacksonAutoConfiguration.class })
+public class EmployeeTransferServiceTest {
+
+    @Autowired
+    private EmployeeTransferService employeeTransferService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @DisplayName("JUnit test for CSV import followed by CSV export")
+    @Test
+    public void givenCsvUpload_whenImportAndExportCsv_thenRoundTripRows() throws IOException {
+        // given - precondition or setup
+        String csv = "first_name,last_name,email\r\n"
+                + "Tohir,Raihan,tohir.raihan@gmail.com\r\n"
+                + "\"Jack, Jr.\",\"Har\"\"poor\",jack@gmail.com\r\n"
+                + "Duplicate,Row,jack@gmail.com\r\n";
+
+        // when - action or the behaviour that we are going to test
+        BulkOperationResult result = employeeTransferService.importCsv(stream(csv));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        employeeTransferService.exportCsv(output);
+
+        // then - verify the output
+        assertThat(result.getRequested()).isEqualTo(3);
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getFailures()).singleElement().extracting("index").isEqualTo(2);
+        String exported = output.toString(StandardCharsets.UTF_8);
+        assertThat(exported).startsWith(EmployeeTransferServiceImpl.CSV_HEADER + "\r\n");
+        assertThat(exported).contains(",\"Jack, Jr.\",\"Har\"\"poor\",jack@gmail.com,0\r\n");
+        assertThat(exported.split("\r\n")).hasSize(3);
+    }
+
+    @DisplayName("JUnit test for NDJSON import followed by NDJSON export")
+    @Test
+    public void givenNdjsonUpload_whenImportAndExportNdjson_thenOneLinePerEmployee() throws IOException {
+        // given - precondition or setup
+        String ndjson = "{\"firstName\":\"Tohir\",\"lastName\":\"Raihan\",\"email\":\"tohir.raihan@gmail.com\"}\n"
+                + "{\"firstName\":\"Jack\",\"lastName\":\"Harpoor\",\"email\":\"jack@gmail.com\"}\n";
+
+        // when - action or the behaviour that we are going to test
+        BulkOperationResult result = employeeTransferService.importNdjson(stream(ndjson));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        employeeTransferService.exportNdjson(output);
+
+        // then - verify the output
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[1]).contains("\"email\":\"jack@gmail.com\"");
+        assertThat(employeeRepository.count()).isEqualTo(2);
+    }
+
+    @DisplayName("JUnit test for NDJSON import with a malformed line")
+    @Test
+    public void givenMalformedNdjson_whenImportNdjson_thenThrowsInvalidImport() {
+        // given - precondition or setup
+        String ndjson = "{\"firstName\":\"Tohir\",\"lastName\":\"Raihan\",\"email\":\"tohir.raihan@gmail.com\"}\n"
+                + "{\"firstName\":\n";
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        assertThrows(InvalidImportException.class, () -> employeeTransferService.importNdjson(stream(ndjson)));
+    }
+
+    @DisplayName("JUnit test for CSV import with an unterminated quoted field")
+    @Test
+    public void givenUnterminatedQuote_whenImportCsv_thenThrowsInvalidImportWithRecord() {
+        // given - precondition or setup
+        String csv = "first_name,last_name,email\r\n"
+                + "Tohir,Raihan,tohir.raihan@gmail.com\r\n"
+                + "\"Jack, Jr.,Harpoor,jack@gmail.com\r\n";
+
+        // when - action or the behaviour that we are going to test
+        InvalidImportException exception = assertThrows(InvalidImportException.class,
+                () -> employeeTransferService.importCsv(stream(csv)));
+
+        // then - verify the output
+        assertThat(exception.getMessage()).startsWith("CSV record 3:").contains("Unterminated");
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+}